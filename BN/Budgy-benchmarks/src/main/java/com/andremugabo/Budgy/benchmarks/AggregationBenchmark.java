@@ -0,0 +1,77 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.summary.repository.IMonthlyExpenseSummaryRepository;
+import com.andremugabo.Budgy.core.summary.repository.IMonthlyIncomeSummaryRepository;
+import com.andremugabo.Budgy.core.summary.service.LedgerSummaryServiceImpl;
+import com.andremugabo.Budgy.core.user.model.Users;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal aggregation on the summary write path: LedgerSummaryServiceImpl folding a batch into
+ * monthly buckets before touching the rollup tables, next to a plain stream sum of the same amounts.
+ * The rollup repositories are stubbed so only the in-memory work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private LedgerSummaryServiceImpl summaryService;
+    private List<Income> incomes;
+    private List<Expense> expenses;
+
+    @Setup
+    public void setUp() {
+        summaryService = new LedgerSummaryServiceImpl(
+                stub(IMonthlyIncomeSummaryRepository.class), stub(IMonthlyExpenseSummaryRepository.class));
+        LedgerFixtures fixtures = new LedgerFixtures(42);
+        Users owner = fixtures.user();
+        incomes = fixtures.incomes(owner, size);
+        expenses = fixtures.expenses(owner, fixtures.categories(12), size);
+    }
+
+    @Benchmark
+    public void recordIncomes() {
+        summaryService.recordIncomes(incomes);
+    }
+
+    @Benchmark
+    public void recordExpenses() {
+        summaryService.recordExpenses(expenses);
+    }
+
+    @Benchmark
+    public BigDecimal sumExpenses() {
+        return expenses.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    // Every bucket update "hits" an existing row, so the service never falls through to save()
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getReturnType() == int.class ? 1 : null);
+    }
+}
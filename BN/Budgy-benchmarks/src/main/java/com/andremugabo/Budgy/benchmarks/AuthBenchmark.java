@@ -0,0 +1,82 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.andremugabo.Budgy.core.auth.service.TokenServiceImpl;
+import com.andremugabo.Budgy.core.user.model.Users;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authentication. login is the BCrypt check at each work factor (one call per login);
+ * verifyToken is what every authenticated request pays. Single-threaded, so its score is
+ * verifications per second per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class AuthBenchmark {
+
+    @Param({"10", "12"})
+    private int bcryptStrength;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private TokenServiceImpl tokenService;
+    private Users user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        passwordHash = passwordEncoder.encode("correct horse battery staple");
+        tokenService = new TokenServiceImpl(Jackson2ObjectMapperBuilder.json().build(), new FixedEpochJdbcTemplate(),
+                "benchmark-secret-benchmark-secret-0123", Duration.ofHours(12), 10_000, Duration.ofSeconds(30));
+        user = new LedgerFixtures(42).user();
+        token = tokenService.issueToken(user).getToken();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return passwordEncoder.matches("correct horse battery staple", passwordHash);
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return tokenService.issueToken(user).getToken();
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> verifyToken() {
+        return tokenService.verify(token);
+    }
+
+    // Stands in for the users table: every user is at token epoch 0, so verifyToken measures the cached path
+    private static final class FixedEpochJdbcTemplate extends JdbcTemplate {
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            return List.of(elementType.cast(0));
+        }
+    }
+}
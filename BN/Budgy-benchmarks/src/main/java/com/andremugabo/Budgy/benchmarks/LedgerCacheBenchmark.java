@@ -0,0 +1,117 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.ledger.model.LedgerColumns;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.util.analytics.EAnalyticsBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Dashboard aggregations over one user's expenses, from the entity list the services work with (BigDecimal
+ * amounts, LocalDateTime dates) and from the ledger cache's primitive columns: the grand total, the total
+ * of one year, and monthly per-category sums over that year. build measures what a cache miss costs on top
+ * of reading the rows. Run with -prof gc to see the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerCacheBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Expense> expenses;
+    private LedgerColumns columns;
+    private int fromDay;
+    private int toDay;
+
+    @Setup
+    public void setUp() {
+        LedgerFixtures fixtures = new LedgerFixtures(42);
+        Users owner = fixtures.user();
+        expenses = fixtures.expenses(owner, fixtures.categories(12), size);
+        columns = build();
+        fromDay = (int) FROM.toEpochDay();
+        toDay = (int) TO.toEpochDay();
+    }
+
+    @Benchmark
+    public LedgerColumns build() {
+        LedgerColumns.Builder builder = LedgerColumns.builder();
+        for (Expense expense : expenses) {
+            builder.add(expense.getAmount(), expense.getCreatedAt().toLocalDate().toEpochDay(),
+                    expense.getCategory() == null ? null : expense.getCategory().getId().toString());
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public BigDecimal entityTotal() {
+        return expenses.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public long columnsTotal() {
+        return columns.total();
+    }
+
+    @Benchmark
+    public BigDecimal entityYear() {
+        return expenses.stream()
+                .filter(expense -> inYear(expense.getCreatedAt().toLocalDate()))
+                .map(Expense::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public long columnsYear() {
+        return columns.sum(fromDay, toDay);
+    }
+
+    @Benchmark
+    public Map<LocalDate, Map<String, BigDecimal>> entityMonthlyByCategory() {
+        return expenses.stream()
+                .filter(expense -> inYear(expense.getCreatedAt().toLocalDate()))
+                .collect(Collectors.groupingBy(expense -> expense.getCreatedAt().toLocalDate().withDayOfMonth(1),
+                        TreeMap::new,
+                        Collectors.groupingBy(expense -> String.valueOf(expense.getCategory().getId()),
+                                Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add))));
+    }
+
+    @Benchmark
+    public void columnsMonthlyByCategory(Blackhole blackhole) {
+        columns.forEachBucket(fromDay, toDay, EAnalyticsBucket.MONTH, (bucket, sums, counts) -> {
+            blackhole.consume(bucket);
+            blackhole.consume(sums);
+        });
+    }
+
+    private static boolean inYear(LocalDate day) {
+        return !day.isBefore(FROM) && !day.isAfter(TO);
+    }
+}
@@ -0,0 +1,148 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.BudgyApplication;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.income.service.IIncomeService;
+import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.savings.repository.ISavingRepository;
+import com.andremugabo.Budgy.core.savings.service.ISavingService;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.batch.BatchResult;
+import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paths that only make sense against PostgreSQL: the batch insert endpoint (scored in rows/s) and the
+ * savings filters, next to the in-memory stream filters they replaced.
+ * Runs the real application context on an embedded PostgreSQL. Pass -Dbudgy.bench.jdbc-url=... (with
+ * -Dbudgy.bench.username / -Dbudgy.bench.password) to point it at a local server instead, e.g. when
+ * running as root where initdb refuses to start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class LedgerDatabaseBenchmark {
+
+    private static final int BATCH_ROWS = 1000;
+    private static final int SAVINGS_ROWS = 5000;
+    private static final LocalDate PERIOD_START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2025, 3, 31);
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    private IIncomeService incomeService;
+    private ISavingService savingService;
+    private ISavingRepository savingRepository;
+
+    private UUID userId;
+    private Users owner;
+    private List<Income> incomeBatch;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        Map<String, Object> properties = new HashMap<>();
+        String jdbcUrl = System.getProperty("budgy.bench.jdbc-url");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", System.getProperty("budgy.bench.username", "postgres"));
+        properties.put("spring.datasource.password", System.getProperty("budgy.bench.password", ""));
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+
+        SpringApplication application = new SpringApplication(BudgyApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(properties);
+        context = application.run();
+
+        incomeService = context.getBean(IIncomeService.class);
+        savingService = context.getBean(ISavingService.class);
+        savingRepository = context.getBean(ISavingRepository.class);
+
+        LedgerFixtures fixtures = new LedgerFixtures(System.nanoTime());
+        Users user = fixtures.user();
+        user.setId(null);
+        owner = context.getBean(IUserRepository.class).save(user);
+        userId = owner.getId();
+        savingRepository.saveAll(fixtures.savings(owner, SAVINGS_ROWS));
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        // registerIncomes mutates ids and owners, so every invocation gets fresh entities
+        incomeBatch = new LedgerFixtures(42).incomes(null, BATCH_ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_ROWS)
+    public BatchResult batchInsertIncomes() {
+        return incomeService.registerIncomes(userId, incomeBatch);
+    }
+
+    @Benchmark
+    public List<Savings> savingsByPriority() {
+        return savingService.getSavingsByUserAndPriority(userId, ESavingsPriority.HIGH);
+    }
+
+    @Benchmark
+    public List<Savings> savingsByPriorityInMemory() {
+        return savingRepository.findAll().stream()
+                .filter(s -> s.getUsers() != null && s.getUsers().getId().equals(userId))
+                .filter(s -> s.getPriority() == ESavingsPriority.HIGH)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Savings> savingsWithinPeriod() {
+        return savingService.getSavingsByUserWithinPeriod(userId, PERIOD_START, PERIOD_END);
+    }
+
+    @Benchmark
+    public List<Savings> savingsWithinPeriodInMemory() {
+        return savingRepository.findAll().stream()
+                .filter(s -> s.getUsers() != null && s.getUsers().getId().equals(userId))
+                .filter(s -> !s.getTargetDate().isBefore(PERIOD_START) && !s.getTargetDate().isAfter(PERIOD_END))
+                .toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategory;
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
+import com.andremugabo.Budgy.core.util.user.EGender;
+import com.andremugabo.Budgy.core.util.user.EUserRole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic ledger data for the benchmarks. The same seed always produces the same rows,
+ * so runs on different machines or commits measure identical inputs.
+ */
+final class LedgerFixtures {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private final Random random;
+
+    LedgerFixtures(long seed) {
+        this.random = new Random(seed);
+    }
+
+    Users user() {
+        Users user = new Users();
+        user.setId(new UUID(random.nextLong(), random.nextLong()));
+        user.setFirstName("Bench");
+        user.setLastName("User");
+        user.setEmail("bench-" + user.getId() + "@budgy.test");
+        user.setGender(EGender.FEMALE);
+        user.setDob(LocalDate.of(1990, 1, 1));
+        user.setPassword("not-a-real-hash");
+        user.setRole(EUserRole.USER);
+        return user;
+    }
+
+    List<ExpenseCategory> categories(int count) {
+        List<ExpenseCategory> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ExpenseCategory category = new ExpenseCategory();
+            category.setId(new UUID(random.nextLong(), random.nextLong()));
+            category.setName("Category " + i);
+            category.setIcon("icon_" + i);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    List<Income> incomes(Users owner, int count) {
+        EIncomeType[] types = EIncomeType.values();
+        List<Income> incomes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Income income = new Income();
+            income.setId(new UUID(random.nextLong(), random.nextLong()));
+            income.setCreatedAt(START.plusHours(i * 7L));
+            income.setAmount(amount());
+            income.setSource("Source " + (i % 17));
+            income.setIncomeType(types[random.nextInt(types.length)]);
+            income.setDescription("Income entry " + i);
+            income.setUsers(owner);
+            incomes.add(income);
+        }
+        return incomes;
+    }
+
+    List<Expense> expenses(Users owner, List<ExpenseCategory> categories, int count) {
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Expense expense = Expense.builder()
+                    .amount(amount())
+                    .category(categories.isEmpty() ? null : categories.get(random.nextInt(categories.size())))
+                    .users(owner)
+                    .build();
+            expense.setId(new UUID(random.nextLong(), random.nextLong()));
+            expense.setCreatedAt(START.plusHours(i * 3L));
+            expense.setActive(Boolean.TRUE);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    List<Savings> savings(Users owner, int count) {
+        ESavingsPriority[] priorities = ESavingsPriority.values();
+        List<Savings> savings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Savings goal = new Savings();
+            goal.setName("Goal " + i);
+            goal.setTargetAmount(amount().multiply(BigDecimal.TEN));
+            goal.setCurrentAmount(amount());
+            goal.setTargetDate(START.toLocalDate().plusDays(random.nextInt(3 * 365)));
+            goal.setPriority(priorities[random.nextInt(priorities.length)]);
+            goal.setDescription("Savings goal " + i);
+            goal.setUsers(owner);
+            savings.add(goal);
+        }
+        return savings;
+    }
+
+    private BigDecimal amount() {
+        return BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+    }
+}
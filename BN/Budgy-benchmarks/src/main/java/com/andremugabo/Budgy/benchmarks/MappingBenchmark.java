@@ -0,0 +1,109 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategory;
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategoryDto;
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.user.model.Users;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The entity-to-response step of the controllers: a ResponseEntity body written by
+ * MappingJackson2HttpMessageConverter, the same way Spring MVC renders it.
+ * Categories are measured both as entities and as the lean ExpenseCategoryDto the endpoint now returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private final MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+    private final BufferedOutputMessage message = new BufferedOutputMessage();
+
+    private List<Expense> expenses;
+    private List<ExpenseCategory> categories;
+
+    @Setup
+    public void setUp() {
+        LedgerFixtures fixtures = new LedgerFixtures(42);
+        Users owner = fixtures.user();
+        categories = fixtures.categories(50);
+        expenses = fixtures.expenses(owner, categories, size);
+    }
+
+    @Benchmark
+    public int expenseListResponse() throws IOException {
+        return write(ResponseEntity.ok(expenses));
+    }
+
+    @Benchmark
+    public int categoryEntitiesResponse() throws IOException {
+        return write(ResponseEntity.ok(categories));
+    }
+
+    @Benchmark
+    public int categoryDtosResponse() throws IOException {
+        List<ExpenseCategoryDto> dtos = categories.stream()
+                .map(category -> new ExpenseCategoryDto(category.getId(), category.getName(), category.getIcon()))
+                .toList();
+        return write(ResponseEntity.ok(dtos));
+    }
+
+    private int write(ResponseEntity<?> response) throws IOException {
+        message.reset();
+        Object body = response.getBody();
+        converter.write(body, (Type) body.getClass(), MediaType.APPLICATION_JSON, message);
+        return message.size();
+    }
+
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+        private HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers = new HttpHeaders();
+        }
+
+        int size() {
+            return body.size();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.config.SerializationConfig;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.util.fields.SparseFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Server cost of each way an income list can go out: JSON or CBOR, every field or the ones the mobile
+ * list screen reads (?fields=), and with or without gzip (server.compression, default level). The mappers
+ * are configured by SerializationConfig like the application's. Setup prints the payload size of every
+ * combination, which is what the client downloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    // What FN/lib/models/income.dart parses
+    private static final String LIST_FIELDS = "id,amount,source,incomeType,description";
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"all", "list"})
+    private String fields;
+
+    private ObjectWriter writer;
+    private List<Income> incomes;
+
+    @Setup
+    public void setUp() throws IOException {
+        SerializationConfig config = new SerializationConfig();
+        Jackson2ObjectMapperBuilder json = Jackson2ObjectMapperBuilder.json();
+        config.sparseFieldsCustomizer().customize(json);
+        Jackson2ObjectMapperBuilder cbor = Jackson2ObjectMapperBuilder.json();
+        config.sparseFieldsCustomizer().customize(cbor);
+        ObjectMapper mapper = "cbor".equals(format)
+                ? config.cborHttpMessageConverter(cbor).getObjectMapper()
+                : json.build();
+        writer = "list".equals(fields)
+                ? mapper.writer(SparseFields.only(SparseFields.parse(LIST_FIELDS)))
+                : mapper.writer();
+        incomes = new LedgerFixtures(42).incomes(new LedgerFixtures(7).user(), size);
+
+        System.out.printf("%n[payload] size=%d format=%s fields=%s: %d bytes, %d gzipped%n",
+                size, format, fields, encode().length, encodeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(incomes);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            writer.writeValue(gzip, incomes);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package com.andremugabo.Budgy.benchmarks;
+
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list payloads returned by the income and expense endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Income> incomes;
+    private List<Expense> expenses;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot hands to MappingJackson2HttpMessageConverter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LedgerFixtures fixtures = new LedgerFixtures(42);
+        Users owner = fixtures.user();
+        incomes = fixtures.incomes(owner, size);
+        expenses = fixtures.expenses(owner, fixtures.categories(12), size);
+    }
+
+    @Benchmark
+    public byte[] incomes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(incomes);
+    }
+
+    @Benchmark
+    public byte[] expenses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(expenses);
+    }
+}
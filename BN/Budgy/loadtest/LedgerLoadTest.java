@@ -0,0 +1,98 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test for the per-user ledger reads.
+ * Usage: java LedgerLoadTest.java <baseUrl> <userId> [concurrency=200] [seconds=30]
+ * Prints requests/second, p50/p99 latency and error count for each endpoint.
+ * Set BUDGY_TOKEN to a token from POST /api/users/login when authentication is enabled.
+ */
+public class LedgerLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: java LedgerLoadTest.java <baseUrl> <userId> [concurrency] [seconds]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String userId = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        for (String path : List.of("/api/incomes/user/" + userId, "/api/expenses/user/" + userId)) {
+            run(URI.create(baseUrl + path), concurrency, Duration.ofSeconds(5)); // warm-up
+            Result result = run(URI.create(baseUrl + path), concurrency, Duration.ofSeconds(seconds));
+            System.out.printf("%-60s %8.1f req/s  p50=%6.1f ms  p99=%7.1f ms  errors=%d%n",
+                    path, result.throughput(), result.percentile(50), result.percentile(99), result.errors());
+        }
+    }
+
+    private static Result run(URI uri, int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        String token = System.getenv("BUDGY_TOKEN");
+        if (token != null && !token.isBlank()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                long[] samples = new long[1024];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (n == samples.length) {
+                        samples = Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(samples, n);
+            }));
+        }
+        List<long[]> perWorker = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            perWorker.add(future.get());
+        }
+        workers.shutdown();
+
+        long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get(), duration);
+    }
+
+    private record Result(long[] sortedNanos, long errors, Duration duration) {
+        double throughput() {
+            return sortedNanos.length / (double) duration.toSeconds();
+        }
+
+        double percentile(int p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
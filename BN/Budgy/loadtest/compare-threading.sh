@@ -0,0 +1,23 @@
+#!/bin/sh
+# Runs LedgerLoadTest against the packaged backend twice: platform threads, then virtual threads.
+# Requires Java 21+, a reachable Postgres (see application.properties) and an existing user id.
+# Authentication is switched off so only the threading mode differs between the two runs.
+# Usage: loadtest/compare-threading.sh <userId> [concurrency] [seconds]
+set -e
+cd "$(dirname "$0")/.."
+
+USER_ID=${1:?usage: compare-threading.sh <userId> [concurrency] [seconds]}
+CONCURRENCY=${2:-200}
+SECONDS_PER_ENDPOINT=${3:-30}
+JAR=$(ls target/Budgy-*-exec.jar 2>/dev/null | head -1)
+[ -n "$JAR" ] || ./mvnw -q -DskipTests package && JAR=$(ls target/Budgy-*-exec.jar | head -1)
+
+for MODE in false true; do
+  echo "== BUDGY_VIRTUAL_THREADS=$MODE"
+  BUDGY_VIRTUAL_THREADS=$MODE BUDGY_AUTH_ENABLED=false java -jar "$JAR" --spring.jpa.show-sql=false > "target/loadtest-virtual-$MODE.log" 2>&1 &
+  PID=$!
+  until curl -sf -o /dev/null "http://localhost:8080/api/incomes/user/$USER_ID/total"; do sleep 1; done
+  java loadtest/LedgerLoadTest.java http://localhost:8080 "$USER_ID" "$CONCURRENCY" "$SECONDS_PER_ENDPOINT"
+  kill $PID
+  wait $PID 2>/dev/null || true
+done
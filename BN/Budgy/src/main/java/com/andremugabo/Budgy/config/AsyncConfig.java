@@ -0,0 +1,15 @@
+package com.andremugabo.Budgy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on @Async and @Scheduled. The executors are Spring Boot's defaults, which switch to
+ * virtual threads together with request handling when spring.threads.virtual.enabled=true.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,188 @@
+package com.andremugabo.Budgy.config;
+
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.andremugabo.Budgy.core.auth.service.ITokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Password hashing and bearer-token authentication for /api/*.
+ * The filter trusts the signed claims, so an authenticated request costs no database round trip.
+ * What a token may reach is decided after routing, by AccessRuleInterceptor, on the handler Spring
+ * resolved and its decoded path variables rather than on the raw request URI.
+ * Set budgy.auth.enabled=false to run the API open (e.g. for load tests).
+ */
+@Configuration
+public class AuthConfig {
+
+    @Value("${budgy.auth.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "budgy.auth.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(ITokenService tokenService) {
+        FilterRegistrationBean<TokenAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new TokenAuthenticationFilter(tokenService));
+        registration.addUrlPatterns("/api/*");
+        // After the virtual-thread admission filter, so rejected requests are not verified first
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "budgy.auth.enabled", havingValue = "true", matchIfMissing = true)
+    public WebMvcConfigurer accessRuleConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new AccessRuleInterceptor()).addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    static class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+        private static final String BEARER_PREFIX = "Bearer ";
+
+        private final ITokenService tokenService;
+
+        TokenAuthenticationFilter(ITokenService tokenService) {
+            this.tokenService = tokenService;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            // Decoded and without ;parameters, as Spring MVC will route it
+            String path = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+            String method = request.getMethod();
+            return HttpMethod.OPTIONS.matches(method)
+                    || (HttpMethod.POST.matches(method) && (path.equals("/api/users") || path.equals("/api/users/login")))
+                    || (HttpMethod.GET.matches(method) && path.equals("/api/users/email-available"));
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            Optional<TokenClaims> claims = header != null && header.startsWith(BEARER_PREFIX)
+                    ? tokenService.verify(header.substring(BEARER_PREFIX.length()).trim())
+                    : Optional.empty();
+            if (claims.isEmpty()) {
+                response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing or invalid access token");
+                return;
+            }
+            request.setAttribute(TokenClaims.REQUEST_ATTRIBUTE, claims.get());
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Decides per resolved handler mapping, so a path only reaches a handler the rules below were
+     * written for. Handlers whose path names a user ({userId}, or {id} under /api/users) serve that
+     * user only; the ones in ANY_USER act on the caller's own rows, whose owner the services check;
+     * everything else, including mappings added later without a rule, is for admins only.
+     */
+    static class AccessRuleInterceptor implements HandlerInterceptor {
+
+        // Let through unauthenticated by the filter
+        private static final Set<String> PUBLIC = Set.of(
+                "POST /api/users", "POST /api/users/login", "GET /api/users/email-available");
+        private static final Set<String> ANY_USER = Set.of(
+                "POST /api/users/logout",
+                "POST /api/incomes", "POST /api/incomes/batch",
+                "PUT /api/incomes/{id}", "PATCH /api/incomes/{id}", "DELETE /api/incomes/{id}",
+                "POST /api/expenses", "POST /api/expenses/batch",
+                "PUT /api/expenses/{id}", "PATCH /api/expenses/{id}", "DELETE /api/expenses/{id}",
+                "POST /api/savings", "POST /api/savings/{id}/contributions",
+                "PUT /api/savings/{id}", "PATCH /api/savings/{id}", "DELETE /api/savings/{id}",
+                "POST /api/alerts", "PUT /api/alerts/{id}", "PATCH /api/alerts/{id}", "DELETE /api/alerts/{id}",
+                // Categories are shared by every user, so only admins change them
+                "GET /api/expense-categories", "GET /api/expense-categories/{id}");
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                throws IOException {
+            if (CorsUtils.isPreFlightRequest(request)) {
+                return true;
+            }
+            String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String method = HttpMethod.HEAD.matches(request.getMethod()) ? HttpMethod.GET.name() : request.getMethod();
+            String rule = method + " " + pattern;
+            if (PUBLIC.contains(rule)) {
+                return true;
+            }
+            TokenClaims claims = (TokenClaims) request.getAttribute(TokenClaims.REQUEST_ATTRIBUTE);
+            if (claims == null) {
+                response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing or invalid access token");
+                return false;
+            }
+            if (claims.isAdmin()) {
+                return true;
+            }
+            String userVariable = pattern == null ? null : userVariable(pattern);
+            if (!ownsRequestedUser(request, userVariable, claims)) {
+                response.sendError(HttpStatus.FORBIDDEN.value(), "Token does not grant access to this user");
+                return false;
+            }
+            if (userVariable != null || ANY_USER.contains(rule)) {
+                return true;
+            }
+            response.sendError(HttpStatus.FORBIDDEN.value(), "Only administrators may use this endpoint");
+            return false;
+        }
+
+        private static String userVariable(String pattern) {
+            if (pattern.equals("/api/users/{id}") || pattern.startsWith("/api/users/{id}/")) {
+                return "id";
+            }
+            return pattern.contains("{userId}") ? "userId" : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static boolean ownsRequestedUser(HttpServletRequest request, String userVariable, TokenClaims claims) {
+            String caller = claims.getUserId().toString();
+            if (userVariable != null) {
+                Map<String, String> variables =
+                        (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                String requested = variables == null ? null : variables.get(userVariable);
+                if (requested == null || !caller.equalsIgnoreCase(requested.trim())) {
+                    return false;
+                }
+            }
+            String userIdParam = request.getParameter("userId");
+            return userIdParam == null || userIdParam.isBlank() || caller.equalsIgnoreCase(userIdParam.trim());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.andremugabo.Budgy.config;
+
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sends read-only transactions to read replicas when budgy.datasource.replicas.urls lists any.
+ * <p>
+ * The application DataSource is a lazy proxy over the primary pool: the physical connection is only
+ * taken at the first statement, by which point the transaction has marked it read-only, and read-only
+ * connections come from {@link ReplicaRoutingDataSource}. Flyway and every read-write transaction use the
+ * primary.
+ * <p>
+ * Read-your-writes: a request that modifies data reads from the primary throughout, and so does every
+ * request of the same user for read-your-writes-window afterwards. Clients can also ask for it per
+ * request with "X-Budgy-Consistency: strong". The window is tracked per instance.
+ */
+@Configuration
+@ConditionalOnExpression("!'${budgy.datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Value("${budgy.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${budgy.datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${budgy.datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${budgy.datasource.replicas.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int replicaPoolSize;
+
+    @Value("${budgy.datasource.replicas.connection-timeout:1s}")
+    private Duration replicaConnectionTimeout;
+
+    @Value("${budgy.datasource.replicas.max-lag:10s}")
+    private Duration maxLag;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("budgy-primary");
+        }
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("budgy-replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // Fail over to the next replica quickly, and start even if a replica is down
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricRegistry(null);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag);
+        Gauge.builder("budgy.datasource.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Read replicas currently in rotation")
+                .register(meterRegistry);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${budgy.datasource.replicas.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.addUrlPatterns("/api/*");
+        // After authentication, which exposes the caller's claims
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+
+    static class ReadYourWritesFilter extends OncePerRequestFilter {
+
+        static final String CONSISTENCY_HEADER = "X-Budgy-Consistency";
+
+        // Users whose last successful write is younger than the window
+        private final Cache<UUID, Boolean> recentWriters;
+
+        ReadYourWritesFilter(Duration window) {
+            this.recentWriters = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            Object claims = request.getAttribute(TokenClaims.REQUEST_ATTRIBUTE);
+            UUID userId = claims instanceof TokenClaims tokenClaims ? tokenClaims.getUserId() : null;
+            boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+            boolean pin = write
+                    || "strong".equalsIgnoreCase(request.getHeader(CONSISTENCY_HEADER))
+                    || (userId != null && recentWriters.getIfPresent(userId) != null);
+            if (pin) {
+                ReplicaRoutingDataSource.pinToPrimary();
+            }
+            try {
+                chain.doFilter(request, response);
+                // An exception escaping the chain has not set the error status yet, so only normal completions count
+                if (write && userId != null && response.getStatus() < 400) {
+                    recentWriters.put(userId, Boolean.TRUE);
+                }
+            } finally {
+                ReplicaRoutingDataSource.unpin();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.andremugabo.Budgy.config;
+
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.util.fields.SparseFields;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Response representations. Besides JSON, anything JSON can carry is also served as CBOR to clients that
+ * ask for application/cbor: same structure, binary encoding. Either is gzipped by the server above a size
+ * threshold (server.compression.*). The ledger entities accept a ?fields= selection (SparseFieldsAdvice).
+ */
+@Configuration
+public class SerializationConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(Income.class, SparseFields.Selectable.class)
+                .mixIn(Expense.class, SparseFields.Selectable.class)
+                .mixIn(Savings.class, SparseFields.Selectable.class)
+                .filters(SparseFields.ALL);
+    }
+
+    // Replaces Spring's default CBOR converter, which would not share Boot's Jackson settings with JSON.
+    // UUIDs stay text as in JSON (Jackson would write 16 bytes), so clients decode the same structure
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory())
+                .serializerByType(UUID.class, ToStringSerializer.instance)
+                .build());
+    }
+
+    @Bean
+    public FilterRegistrationBean<DeferredFlushFilter> deferredFlushFilter() {
+        FilterRegistrationBean<DeferredFlushFilter> registration = new FilterRegistrationBean<>(new DeferredFlushFilter());
+        registration.addUrlPatterns("/api/incomes/*", "/api/expenses/*", "/api/savings/*");
+        return registration;
+    }
+
+    /**
+     * Ignores flushes of the response while the handler writes it. Spring MVC flushes once the body is
+     * written, which commits the response before its length is known, and Tomcat compresses a response of
+     * unknown length whatever its size. Unflushed, a body that fits the response buffer goes out with a
+     * Content-Length, so min-response-size applies; larger ones are still sent as the buffer fills.
+     */
+    static class DeferredFlushFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            chain.doFilter(request, new HttpServletResponseWrapper(response) {
+                private ServletOutputStream body;
+
+                @Override
+                public ServletOutputStream getOutputStream() throws IOException {
+                    if (body == null) {
+                        body = new UnflushedOutputStream(super.getOutputStream());
+                    }
+                    return body;
+                }
+
+                // Called for every ResponseEntity once its body is written
+                @Override
+                public void flushBuffer() {
+                }
+            });
+        }
+    }
+
+    private static class UnflushedOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        UnflushedOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            // The container flushes when the response completes
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.andremugabo.Budgy.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate logs every statement slower than hibernate.log_slow_query to org.hibernate.SQL_SLOW.
+ * Each one is counted in budgy.jpa.slow.queries, but only the first and then every Nth is written to the log.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SlowQueryLogConfig {
+
+    static final String SLOW_QUERY_LOGGER = "org.hibernate.SQL_SLOW";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${budgy.slow-query-log.sample-every:10}")
+    private int sampleEvery;
+
+    private SamplingFilter filter;
+
+    @PostConstruct
+    void install() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext context)) {
+            return;
+        }
+        Counter slowQueries = Counter.builder("budgy.jpa.slow.queries")
+                .description("Statements slower than hibernate.log_slow_query")
+                .register(meterRegistry);
+        filter = new SamplingFilter(Math.max(1, sampleEvery), slowQueries);
+        filter.start();
+        context.addTurboFilter(filter);
+    }
+
+    @PreDestroy
+    void uninstall() {
+        if (filter != null && LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(filter);
+        }
+    }
+
+    static class SamplingFilter extends TurboFilter {
+
+        private final int sampleEvery;
+        private final Counter slowQueries;
+        private final AtomicLong seen = new AtomicLong();
+
+        SamplingFilter(int sampleEvery, Counter slowQueries) {
+            this.sampleEvery = sampleEvery;
+            this.slowQueries = slowQueries;
+        }
+
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+            // format is null for isXxxEnabled() checks; only actual log calls are counted and sampled
+            if (format == null || !SLOW_QUERY_LOGGER.equals(logger.getName())) {
+                return FilterReply.NEUTRAL;
+            }
+            slowQueries.increment();
+            return seen.getAndIncrement() % sampleEvery == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+        }
+    }
+}
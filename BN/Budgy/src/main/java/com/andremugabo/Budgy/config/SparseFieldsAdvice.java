@@ -0,0 +1,36 @@
+package com.andremugabo.Budgy.config;
+
+import com.andremugabo.Budgy.controller.expenses.ExpenseController;
+import com.andremugabo.Budgy.controller.income.IncomeController;
+import com.andremugabo.Budgy.controller.savings.SavingsController;
+import com.andremugabo.Budgy.core.util.fields.SparseFields;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies ?fields= to the income, expense and savings responses, JSON or CBOR. Without the parameter the
+ * body is written as before.
+ */
+@RestControllerAdvice(assignableTypes = {IncomeController.class, ExpenseController.class, SavingsController.class})
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Set<String> fields = SparseFields.parse(servletRequest.getServletRequest().getParameter(SparseFields.PARAMETER));
+            if (!fields.isEmpty()) {
+                bodyContainer.setFilters(SparseFields.only(fields));
+            }
+        }
+    }
+}
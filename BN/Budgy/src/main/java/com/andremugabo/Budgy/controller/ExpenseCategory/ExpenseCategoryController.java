@@ -1,6 +1,7 @@
 package com.andremugabo.Budgy.controller.ExpenseCategory;
 
 import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategory;
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategoryDto;
 import com.andremugabo.Budgy.core.expenseCategory.service.IExpenseCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -43,10 +44,10 @@ public class ExpenseCategoryController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Get all expense categories")
+    @Operation(summary = "Get all expense categories", description = "Pass userId to include that user's expense count and total per category")
     @GetMapping
-    public ResponseEntity<List<ExpenseCategory>> getAllCategories() {
-        List<ExpenseCategory> categories = expenseCategoryService.getAllCategories();
+    public ResponseEntity<List<ExpenseCategoryDto>> getAllCategories(@RequestParam(required = false) UUID userId) {
+        List<ExpenseCategoryDto> categories = expenseCategoryService.getAllCategories(userId);
         return ResponseEntity.ok(categories);
     }
 
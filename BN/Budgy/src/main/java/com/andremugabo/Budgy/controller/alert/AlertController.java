@@ -1,12 +1,23 @@
 package com.andremugabo.Budgy.controller.alert;
 import com.andremugabo.Budgy.core.alert.model.Alert;
+import com.andremugabo.Budgy.core.alert.model.AlertMarkReadDto;
+import com.andremugabo.Budgy.core.alert.model.AlertMarkReadResultDto;
+import com.andremugabo.Budgy.core.alert.model.AlertPatchDto;
 import com.andremugabo.Budgy.core.alert.service.IAlertService;
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.andremugabo.Budgy.core.ledger.service.ILedgerVersionService;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,28 +30,58 @@ import java.util.UUID;
 public class AlertController {
 
     private final IAlertService alertService;
+    private final ILedgerVersionService ledgerVersionService;
 
     @PostMapping
     @Operation(summary = "Create Alert", description = "Creates a new alert for a user")
-    public ResponseEntity<Alert> createAlert(@RequestBody Alert alert) {
-        return new ResponseEntity<>(alertService.createAlert(alert), HttpStatus.CREATED);
+    public ResponseEntity<?> createAlert(@RequestBody Alert alert, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        UUID requested = alert.getUsers() == null ? null : alert.getUsers().getId();
+        alert.setUsers(null);
+        try {
+            return new ResponseEntity<>(alertService.createAlert(TokenClaims.ownerFor(claims, requested), alert), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update Alert", description = "Updates an existing alert by ID")
-    public ResponseEntity<Alert> updateAlert(@PathVariable UUID id, @RequestBody Alert alert) {
+    public ResponseEntity<?> updateAlert(@PathVariable UUID id, @RequestBody Alert alert, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
         alert.setId(id);
-        Optional<Alert> updated = alertService.updateAlert(alert);
-        return updated.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        try {
+            Optional<Alert> updated = alertService.updateAlert(alert, TokenClaims.ownerScope(claims));
+            return updated.map(value -> new ResponseEntity<Object>(value, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Alert " + id + " was changed concurrently; reload it and retry", HttpStatus.CONFLICT);
+        }
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch Alert", description = "Changes only the fields sent, provided the alert is still at the given version")
+    public ResponseEntity<?> patchAlert(@PathVariable UUID id, @Valid @RequestBody AlertPatchDto patch, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            return alertService.patchAlert(id, patch, TokenClaims.ownerScope(claims))
+                    .map(value -> new ResponseEntity<Object>(value, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Alert " + id + " was changed concurrently; reload it and retry", HttpStatus.CONFLICT);
+        }
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete Alert", description = "Deletes an alert by ID")
-    public ResponseEntity<Void> deleteAlert(@PathVariable UUID id) {
-        boolean deleted = alertService.deleteAlert(id);
-        return deleted ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
-                : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    @Operation(summary = "Delete Alert", description = "Deletes an alert by ID; with a version, only while the alert is still at it")
+    public ResponseEntity<?> deleteAlert(@PathVariable UUID id, @RequestParam(required = false) Long version,
+                                         @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            boolean deleted = alertService.deleteAlert(id, version, TokenClaims.ownerScope(claims));
+            return deleted ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                    : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Alert " + id + " was changed concurrently; reload it and retry", HttpStatus.CONFLICT);
+        }
     }
 
     @GetMapping
@@ -51,14 +92,54 @@ public class AlertController {
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get Alerts by User", description = "Retrieve all alerts for a specific user")
-    public ResponseEntity<List<Alert>> getAlertsByUser(@PathVariable UUID userId) {
-        return new ResponseEntity<>(alertService.getAlertsByUserId(userId), HttpStatus.OK);
+    public ResponseEntity<List<Alert>> getAlertsByUser(@PathVariable UUID userId, WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> alertService.getAlertsByUserId(userId));
     }
 
     @GetMapping("/user/{userId}/unread")
     @Operation(summary = "Get Unread Alerts by User", description = "Retrieve unread alerts for a specific user")
-    public ResponseEntity<List<Alert>> getUnreadAlertsByUser(@PathVariable UUID userId) {
-        return new ResponseEntity<>(alertService.getUnreadAlertsByUserId(userId), HttpStatus.OK);
+    public ResponseEntity<List<Alert>> getUnreadAlertsByUser(@PathVariable UUID userId, WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> alertService.getUnreadAlertsByUserId(userId));
+    }
+
+    @GetMapping("/user/{userId}/unread/count")
+    @Operation(summary = "Count Unread Alerts by User", description = "Number of unread alerts for a user, for badges")
+    public ResponseEntity<Long> countUnreadAlertsByUser(@PathVariable UUID userId, WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> alertService.countUnreadAlertsByUserId(userId));
+    }
+
+    @PostMapping("/user/{userId}/mark-read")
+    @Operation(summary = "Mark Alerts as Read", description = "Marks the given alerts, or all unread alerts when no ids are sent, as read in one update")
+    public ResponseEntity<AlertMarkReadResultDto> markAlertsRead(
+            @PathVariable UUID userId,
+            @RequestBody(required = false) AlertMarkReadDto request) {
+        List<UUID> alertIds = request == null ? null : request.getAlertIds();
+        return new ResponseEntity<>(alertService.markAlertsRead(userId, alertIds), HttpStatus.OK);
     }
-}
 
+    @GetMapping(path = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Alerts by User", description = "Server-sent events for a user's new alerts; reconnect with Last-Event-ID to receive what was missed")
+    public SseEmitter streamAlertsByUser(
+            @PathVariable UUID userId,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return alertService.streamAlertsByUserId(userId, lastEventId);
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of Alerts", description = "Retrieve alerts newest first; pass nextCursor back as 'after' for the next page")
+    public ResponseEntity<CursorPage<Alert>> getAlertPage(
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after) {
+        return new ResponseEntity<>(alertService.getAlertPage(after, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "Get a page of Alerts by User", description = "Retrieve a user's alerts newest first; pass nextCursor back as 'after' for the next page")
+    public ResponseEntity<CursorPage<Alert>> getAlertPageByUser(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> alertService.getAlertPageByUserId(userId, after, limit));
+    }
+}
@@ -0,0 +1,37 @@
+package com.andremugabo.Budgy.controller.analytics;
+
+import com.andremugabo.Budgy.core.analytics.service.IAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Income and spending totals aggregated in the database for charts")
+public class AnalyticsController {
+
+    private final IAnalyticsService analyticsService;
+
+    // Get Spending by Bucket
+    @Operation(summary = "Get spending analytics by user", description = "Expense totals per day, week or month and category, and income totals per bucket and income type, between two inclusive dates")
+    @GetMapping("/user/{userId}/spending")
+    public ResponseEntity<?> getSpending(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "month") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(analyticsService.getSpending(userId, bucket, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
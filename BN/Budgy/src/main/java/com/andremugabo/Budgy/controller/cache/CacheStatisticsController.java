@@ -0,0 +1,28 @@
+package com.andremugabo.Budgy.controller.cache;
+
+import com.andremugabo.Budgy.core.cache.model.CacheRegionStatsDto;
+import com.andremugabo.Budgy.core.cache.service.ICacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache Statistics", description = "Second-level cache sizing information")
+public class CacheStatisticsController {
+
+    private final ICacheStatisticsService cacheStatisticsService;
+
+    @Operation(summary = "Get cache statistics", description = "Hit, miss and put counts per second-level cache region since startup")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDto>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+}
@@ -1,15 +1,23 @@
 package com.andremugabo.Budgy.controller.expenses;
 
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
 import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.expenses.model.ExpenseBatchDto;
+import com.andremugabo.Budgy.core.expenses.model.ExpensePatchDto;
 import com.andremugabo.Budgy.core.expenses.service.IExpensesService;
+import com.andremugabo.Budgy.core.ledger.service.ILedgerVersionService;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,28 +30,61 @@ import java.util.UUID;
 public class ExpenseController {
 
     private final IExpensesService expensesService;
+    private final ILedgerVersionService ledgerVersionService;
 
     @PostMapping
     @Operation(summary = "Create a new expense", description = "Registers a new expense for a user")
-    public ResponseEntity<Expense> createExpense(@RequestBody Expense expense) {
-        Expense savedExpense = expensesService.registerExpense(expense);
+    public ResponseEntity<Expense> createExpense(@RequestBody Expense expense, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        Expense savedExpense = expensesService.registerExpense(TokenClaims.ownerFor(claims, null), expense);
         return new ResponseEntity<>(savedExpense, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create expenses in bulk", description = "Registers up to 5000 expenses for one user in a single transaction and reports the outcome of each item")
+    public ResponseEntity<?> createExpenses(@Valid @RequestBody ExpenseBatchDto batch, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        UUID ownerId = TokenClaims.ownerFor(claims, batch.getUserId());
+        if (ownerId == null) {
+            return new ResponseEntity<>("User ID cannot be null", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(expensesService.registerExpenses(ownerId, batch.getItems()), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an expense", description = "Updates an existing expense by ID")
-    public ResponseEntity<Expense> updateExpense(@PathVariable UUID id, @RequestBody Expense expense) {
+    public ResponseEntity<?> updateExpense(@PathVariable UUID id, @RequestBody Expense expense, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
         expense.setId(id);
-        Optional<Expense> updatedExpense = expensesService.updateExpense(expense);
-        return updatedExpense
-                .map(value -> new ResponseEntity<>(value, HttpStatus.OK))
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        try {
+            Optional<Expense> updatedExpense = expensesService.updateExpense(expense, TokenClaims.ownerScope(claims));
+            return updatedExpense
+                    .map(value -> new ResponseEntity<Object>(value, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Expense " + id + " was changed concurrently; reload it and retry", HttpStatus.CONFLICT);
+        }
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update an expense", description = "Changes only the fields sent, provided the expense is still at the given version")
+    public ResponseEntity<?> patchExpense(@PathVariable UUID id, @Valid @RequestBody ExpensePatchDto patch, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            return expensesService.patchExpense(id, patch, TokenClaims.ownerScope(claims))
+                    .map(value -> new ResponseEntity<Object>(value, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Expense " + id + " was changed concurrently; reload it and retry", HttpStatus.CONFLICT);
+        }
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete an expense", description = "Deletes an expense by ID")
-    public ResponseEntity<Void> deleteExpense(@PathVariable UUID id) {
-        boolean deleted = expensesService.deleteExpense(id);
+    public ResponseEntity<Void> deleteExpense(@PathVariable UUID id, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        boolean deleted = expensesService.deleteExpense(id, TokenClaims.ownerScope(claims));
         return deleted ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
                 : new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
@@ -57,9 +98,8 @@ public class ExpenseController {
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get expenses by user", description = "Retrieve all expenses for a specific user")
-    public ResponseEntity<List<Expense>> getExpensesByUser(@PathVariable UUID userId) {
-        List<Expense> expenses = expensesService.getExpensesByUserId(userId);
-        return new ResponseEntity<>(expenses, HttpStatus.OK);
+    public ResponseEntity<List<Expense>> getExpensesByUser(@PathVariable UUID userId, WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> expensesService.getExpensesByUserId(userId));
     }
 
     @GetMapping("/category/{categoryId}")
@@ -68,4 +108,22 @@ public class ExpenseController {
         List<Expense> expenses = expensesService.getExpensesByCategoryId(categoryId);
         return new ResponseEntity<>(expenses, HttpStatus.OK);
     }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of expenses", description = "Retrieve expenses newest first; pass nextCursor back as 'after' for the next page")
+    public ResponseEntity<CursorPage<Expense>> getExpensePage(
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after) {
+        return new ResponseEntity<>(expensesService.getExpensePage(after, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "Get a page of expenses by user", description = "Retrieve a user's expenses newest first; pass nextCursor back as 'after' for the next page")
+    public ResponseEntity<CursorPage<Expense>> getExpensePageByUser(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> expensesService.getExpensePageByUserId(userId, after, limit));
+    }
 }
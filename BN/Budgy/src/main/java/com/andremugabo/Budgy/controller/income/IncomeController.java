@@ -1,15 +1,24 @@
 package com.andremugabo.Budgy.controller.income;
 
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
 import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.income.model.IncomeBatchDto;
+import com.andremugabo.Budgy.core.income.model.IncomePatchDto;
 import com.andremugabo.Budgy.core.income.service.IIncomeService;
+import com.andremugabo.Budgy.core.ledger.service.ILedgerVersionService;
 import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,29 +32,69 @@ import java.util.UUID;
 public class IncomeController {
 
     private final IIncomeService incomeService;
+    private final ILedgerVersionService ledgerVersionService;
 
     // Create Income
     @Operation(summary = "Register a new income", description = "Creates a new income entry for a user")
     @PostMapping
-    public ResponseEntity<Income> createIncome(@RequestBody Income income) {
-        Income createdIncome = incomeService.registerIncome(income);
+    public ResponseEntity<Income> createIncome(@RequestBody Income income, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        Income createdIncome = incomeService.registerIncome(TokenClaims.ownerFor(claims, null), income);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdIncome);
     }
 
+    // Create Incomes in Bulk
+    @Operation(summary = "Register incomes in bulk", description = "Creates up to 5000 income entries for one user in a single transaction and reports the outcome of each item")
+    @PostMapping("/batch")
+    public ResponseEntity<?> createIncomes(@Valid @RequestBody IncomeBatchDto batch, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        UUID ownerId = TokenClaims.ownerFor(claims, batch.getUserId());
+        if (ownerId == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("User ID cannot be null");
+        }
+        try {
+            return ResponseEntity.ok(incomeService.registerIncomes(ownerId, batch.getItems()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     // Update Income
     @Operation(summary = "Update an existing income", description = "Updates the details of an existing income")
     @PutMapping("/{id}")
-    public ResponseEntity<Income> updateIncome(@PathVariable UUID id, @RequestBody Income income) {
+    public ResponseEntity<?> updateIncome(@PathVariable UUID id, @RequestBody Income income, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
         income.setId(id);
-        Income updatedIncome = incomeService.updateIncome(income);
-        return ResponseEntity.ok(updatedIncome);
+        try {
+            return ResponseEntity.ok(incomeService.updateIncome(income, TokenClaims.ownerScope(claims)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Income " + id + " was changed concurrently; reload it and retry");
+        }
+    }
+
+    // Patch Income
+    @Operation(summary = "Partially update an income", description = "Changes only the fields sent, provided the income is still at the given version")
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchIncome(@PathVariable UUID id, @Valid @RequestBody IncomePatchDto patch, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            return ResponseEntity.ok(incomeService.patchIncome(id, patch, TokenClaims.ownerScope(claims)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Income " + id + " was changed concurrently; reload it and retry");
+        }
     }
 
     // Delete Income
     @Operation(summary = "Delete an income", description = "Deletes an income entry by ID")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteIncome(@PathVariable UUID id) {
-        incomeService.deleteIncome(id);
+    public ResponseEntity<?> deleteIncome(@PathVariable UUID id, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            incomeService.deleteIncome(id, TokenClaims.ownerScope(claims));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -60,9 +109,8 @@ public class IncomeController {
     // Get Income by User
     @Operation(summary = "Get incomes by user", description = "Retrieves all income entries for a specific user")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Income>> getIncomeByUser(@PathVariable UUID userId) {
-        List<Income> incomes = incomeService.getIncomeByUser(userId);
-        return ResponseEntity.ok(incomes);
+    public ResponseEntity<List<Income>> getIncomeByUser(@PathVariable UUID userId, WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> incomeService.getIncomeByUser(userId));
     }
 
     // Get Income by User and Type
@@ -70,18 +118,17 @@ public class IncomeController {
     @GetMapping("/user/{userId}/type/{type}")
     public ResponseEntity<List<Income>> getIncomeByUserAndType(
             @PathVariable UUID userId,
-            @PathVariable EIncomeType type
+            @PathVariable EIncomeType type,
+            WebRequest request
     ) {
-        List<Income> incomes = incomeService.getIncomeByUserAndType(userId, type);
-        return ResponseEntity.ok(incomes);
+        return ledgerVersionService.getIfModified(userId, request, () -> incomeService.getIncomeByUserAndType(userId, type));
     }
 
     // Get Total Income by User
     @Operation(summary = "Get total income by user", description = "Retrieves the total income amount for a specific user")
     @GetMapping("/user/{userId}/total")
-    public ResponseEntity<BigDecimal> getTotalIncomeByUser(@PathVariable UUID userId) {
-        BigDecimal total = incomeService.getTotalIncomeByUser(userId);
-        return ResponseEntity.ok(total);
+    public ResponseEntity<BigDecimal> getTotalIncomeByUser(@PathVariable UUID userId, WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> incomeService.getTotalIncomeByUser(userId));
     }
 
     // Get Income by User within Period
@@ -90,9 +137,31 @@ public class IncomeController {
     public ResponseEntity<List<Income>> getIncomeByUserWithinPeriod(
             @PathVariable UUID userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            WebRequest request
     ) {
-        List<Income> incomes = incomeService.getIncomeByUserWithinPeriod(userId, start, end);
-        return ResponseEntity.ok(incomes);
+        return ledgerVersionService.getIfModified(userId, request, () -> incomeService.getIncomeByUserWithinPeriod(userId, start, end));
+    }
+
+    // Get a page of Income
+    @Operation(summary = "Get a page of incomes", description = "Retrieves incomes newest first; pass nextCursor back as 'after' for the next page")
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Income>> getIncomePage(
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after
+    ) {
+        return ResponseEntity.ok(incomeService.getIncomePage(after, limit));
+    }
+
+    // Get a page of Income by User
+    @Operation(summary = "Get a page of incomes by user", description = "Retrieves a user's incomes newest first; pass nextCursor back as 'after' for the next page")
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPage<Income>> getIncomePageByUser(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after,
+            WebRequest request
+    ) {
+        return ledgerVersionService.getIfModified(userId, request, () -> incomeService.getIncomePageByUser(userId, after, limit));
     }
 }
@@ -1,15 +1,23 @@
 package com.andremugabo.Budgy.controller.savings;
 
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.andremugabo.Budgy.core.ledger.service.ILedgerVersionService;
 import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.savings.model.SavingsContributionDto;
+import com.andremugabo.Budgy.core.savings.model.SavingsPatchDto;
 import com.andremugabo.Budgy.core.savings.service.ISavingService;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
 import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,29 +30,69 @@ import java.util.UUID;
 public class SavingsController {
 
     private final ISavingService savingsService;
+    private final ILedgerVersionService ledgerVersionService;
 
     // Create Savings
     @Operation(summary = "Create a new savings goal", description = "Registers a new savings entry for a user")
     @PostMapping
-    public ResponseEntity<Savings> createSavings(@RequestBody Savings savings) {
-        Savings created = savingsService.registerSavings(savings);
+    public ResponseEntity<Savings> createSavings(@RequestBody Savings savings, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        Savings created = savingsService.registerSavings(TokenClaims.ownerFor(claims, null), savings);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     // Update Savings
-    @Operation(summary = "Update an existing savings goal", description = "Updates the details of a savings entry")
+    @Operation(summary = "Update an existing savings goal", description = "Updates the details of a savings entry; the body must carry the version it was read at")
     @PutMapping("/{id}")
-    public ResponseEntity<Savings> updateSavings(@PathVariable UUID id, @RequestBody Savings savings) {
+    public ResponseEntity<?> updateSavings(@PathVariable UUID id, @RequestBody Savings savings, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
         savings.setId(id);
-        Savings updated = savingsService.updateSavings(savings);
-        return ResponseEntity.ok(updated);
+        try {
+            return ResponseEntity.ok(savingsService.updateSavings(savings, TokenClaims.ownerScope(claims)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Savings " + id + " was changed concurrently; reload it and retry");
+        }
+    }
+
+    // Patch Savings
+    @Operation(summary = "Partially update a savings goal", description = "Changes only the fields sent, provided the goal is still at the given version")
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchSavings(@PathVariable UUID id, @Valid @RequestBody SavingsPatchDto patch, @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            return savingsService.patchSavings(id, patch, TokenClaims.ownerScope(claims))
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Savings not found with ID: " + id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Savings " + id + " was changed concurrently; reload it and retry");
+        }
+    }
+
+    // Contribute to Savings
+    @Operation(summary = "Contribute to a savings goal", description = "Adds the amount to the goal's current amount atomically and records the contribution")
+    @PostMapping("/{id}/contributions")
+    public ResponseEntity<?> addContribution(@PathVariable UUID id, @Valid @RequestBody SavingsContributionDto contribution,
+                                             @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            return ResponseEntity.ok(savingsService.addContribution(id, contribution.getAmount(), TokenClaims.ownerScope(claims)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     // Delete Savings
-    @Operation(summary = "Delete a savings goal", description = "Deletes a savings entry by ID")
+    @Operation(summary = "Delete a savings goal", description = "Deletes a savings entry by ID, provided it is still at the given version")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteSavings(@PathVariable UUID id) {
-        savingsService.deleteSavings(id);
+    public ResponseEntity<?> deleteSavings(@PathVariable UUID id, @RequestParam(required = false) Long version,
+                                           @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        try {
+            savingsService.deleteSavings(id, version, TokenClaims.ownerScope(claims));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Savings " + id + " was changed concurrently; reload it and retry");
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -59,9 +107,8 @@ public class SavingsController {
     // Get Savings by User
     @Operation(summary = "Get savings by user", description = "Retrieves all savings entries for a specific user")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Savings>> getSavingsByUser(@PathVariable UUID userId) {
-        List<Savings> savingsList = savingsService.getSavingsByUser(userId);
-        return ResponseEntity.ok(savingsList);
+    public ResponseEntity<List<Savings>> getSavingsByUser(@PathVariable UUID userId, WebRequest request) {
+        return ledgerVersionService.getIfModified(userId, request, () -> savingsService.getSavingsByUser(userId));
     }
 
     // Get Savings by Priority
@@ -78,9 +125,31 @@ public class SavingsController {
     public ResponseEntity<List<Savings>> getSavingsByUserWithinPeriod(
             @PathVariable UUID userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            WebRequest request
     ) {
-        List<Savings> savingsList = savingsService.getSavingsByUserWithinPeriod(userId, start, end);
-        return ResponseEntity.ok(savingsList);
+        return ledgerVersionService.getIfModified(userId, request, () -> savingsService.getSavingsByUserWithinPeriod(userId, start, end));
+    }
+
+    // Get a page of Savings
+    @Operation(summary = "Get a page of savings", description = "Retrieves savings newest first; pass nextCursor back as 'after' for the next page")
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Savings>> getSavingsPage(
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after
+    ) {
+        return ResponseEntity.ok(savingsService.getSavingsPage(after, limit));
+    }
+
+    // Get a page of Savings by User
+    @Operation(summary = "Get a page of savings by user", description = "Retrieves a user's savings newest first; pass nextCursor back as 'after' for the next page")
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPage<Savings>> getSavingsPageByUser(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String after,
+            WebRequest request
+    ) {
+        return ledgerVersionService.getIfModified(userId, request, () -> savingsService.getSavingsPageByUser(userId, after, limit));
     }
 }
@@ -0,0 +1,56 @@
+package com.andremugabo.Budgy.controller.summary;
+
+import com.andremugabo.Budgy.core.summary.model.MonthlyExpenseTotalDto;
+import com.andremugabo.Budgy.core.summary.model.MonthlyIncomeTotalDto;
+import com.andremugabo.Budgy.core.summary.service.ILedgerSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/summaries")
+@RequiredArgsConstructor
+@Tag(name = "Ledger Summaries", description = "Monthly income and expense totals maintained on every write")
+public class LedgerSummaryController {
+
+    private final ILedgerSummaryService ledgerSummaryService;
+
+    // Get Monthly Income by User
+    @Operation(summary = "Get monthly income by user", description = "Income totals per month and income type for a user")
+    @GetMapping("/user/{userId}/income")
+    public ResponseEntity<List<MonthlyIncomeTotalDto>> getMonthlyIncome(@PathVariable UUID userId) {
+        return ResponseEntity.ok(ledgerSummaryService.getMonthlyIncomeByUser(userId));
+    }
+
+    // Get Monthly Expenses by User
+    @Operation(summary = "Get monthly expenses by user", description = "Expense totals per month and category for a user")
+    @GetMapping("/user/{userId}/expenses")
+    public ResponseEntity<List<MonthlyExpenseTotalDto>> getMonthlyExpenses(@PathVariable UUID userId) {
+        return ResponseEntity.ok(ledgerSummaryService.getMonthlyExpensesByUser(userId));
+    }
+
+    // Get Total Expenses by User
+    @Operation(summary = "Get total expenses by user", description = "Retrieves the total expense amount for a specific user")
+    @GetMapping("/user/{userId}/expenses/total")
+    public ResponseEntity<BigDecimal> getTotalExpenses(@PathVariable UUID userId) {
+        return ResponseEntity.ok(ledgerSummaryService.getTotalExpenseByUser(userId));
+    }
+
+    // Rebuild Summaries
+    @Operation(summary = "Rebuild summaries", description = "Recomputes the monthly totals from the income and expense tables, for one user or for everyone when userId is omitted")
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild(@RequestParam(required = false) UUID userId) {
+        if (userId == null) {
+            ledgerSummaryService.rebuildAll();
+        } else {
+            ledgerSummaryService.rebuildForUser(userId);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
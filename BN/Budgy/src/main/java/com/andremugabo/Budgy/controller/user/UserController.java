@@ -1,19 +1,31 @@
 package com.andremugabo.Budgy.controller.user;
 
+import com.andremugabo.Budgy.core.auth.model.LoginResponseDto;
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.andremugabo.Budgy.core.auth.service.ITokenService;
+import com.andremugabo.Budgy.core.export.service.ILedgerExportService;
 import com.andremugabo.Budgy.core.user.model.UserLoginDto;
 import com.andremugabo.Budgy.core.user.model.UserRegisterDto;
 import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.user.service.EmailCheckLimiter;
 import com.andremugabo.Budgy.core.user.service.IUserService;
+import com.andremugabo.Budgy.core.util.export.EExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +37,9 @@ import java.util.UUID;
 public class UserController {
 
     private final IUserService userService;
+    private final ILedgerExportService ledgerExportService;
+    private final ITokenService tokenService;
+    private final EmailCheckLimiter emailCheckLimiter;
 
     // Create User
     @Operation(summary = "Register a new user", description = "Creates a new Budgy user with the provided details")
@@ -38,12 +53,24 @@ public class UserController {
         }
     }
 
+    // Email availability for the signup form; throttled per client since it needs no token
+    @Operation(summary = "Check whether an email is free", description = "Answers from an in-memory filter for emails never seen before, otherwise from the database; limited per client address")
+    @GetMapping("/email-available")
+    public ResponseEntity<Boolean> isEmailAvailable(@RequestParam String email, HttpServletRequest request) {
+        if (!emailCheckLimiter.tryAcquire(request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok(userService.isEmailAvailable(email));
+    }
+
     // Update User
     @Operation(summary = "Update an existing user", description = "Updates the details of an existing Budgy user")
     @PutMapping("/{id}")
-    public ResponseEntity<Users> updateUser(@PathVariable UUID id, @RequestBody Users theUser) {
+    public ResponseEntity<Users> updateUser(@PathVariable UUID id, @RequestBody Users theUser,
+                                           @RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
         theUser.setId(id); // ensure the path ID is used
-        Users updatedUser = userService.updateUser(theUser);
+        // Only admins (or an API running with auth off) may change roles
+        Users updatedUser = userService.updateUser(theUser, TokenClaims.ownerScope(claims) == null);
         return ResponseEntity.ok(updatedUser);
     }
 
@@ -74,10 +101,10 @@ public class UserController {
 
     @Operation(
             summary = "Login a user",
-            description = "Authenticate a user with email and password",
+            description = "Authenticate a user with email and password and issue a bearer token for the other endpoints",
             responses = {
                     @ApiResponse(responseCode = "200", description = "User logged in successfully",
-                            content = @Content(schema = @Schema(implementation = Users.class))),
+                            content = @Content(schema = @Schema(implementation = LoginResponseDto.class))),
                     @ApiResponse(responseCode = "401", description = "Invalid email or password")
             }
     )
@@ -86,7 +113,7 @@ public class UserController {
         try {
             Optional<Users> user = userService.login(userLoginDto);
             if (user.isPresent()) {
-                return ResponseEntity.ok(user.get());
+                return ResponseEntity.ok(tokenService.issueToken(user.get()));
             }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password");
         } catch (RuntimeException e) {
@@ -94,5 +121,29 @@ public class UserController {
         }
     }
 
+    // Logout
+    @Operation(summary = "Logout", description = "Revokes the bearer token used for this request")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestAttribute(name = TokenClaims.REQUEST_ATTRIBUTE, required = false) TokenClaims claims) {
+        if (claims != null) {
+            tokenService.revoke(claims);
+        }
+        return ResponseEntity.noContent().build();
+    }
 
+    // Export User Ledger
+    @Operation(summary = "Export a user's ledger", description = "Streams all incomes, expenses, savings and alerts of a user as NDJSON or CSV")
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "NDJSON") EExportFormat format) {
+        userService.getUserById(id); // fail fast before the response is committed
+        boolean csv = format == EExportFormat.CSV;
+        StreamingResponseBody body = out -> ledgerExportService.exportLedger(id, format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("budgy-ledger-" + id + (csv ? ".csv" : ".ndjson")).build().toString())
+                .body(body);
+    }
 }
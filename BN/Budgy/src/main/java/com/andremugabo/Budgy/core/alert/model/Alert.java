@@ -8,8 +8,12 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLDelete(sql = "UPDATE alert SET active = false, updated_at = now(), version = version + 1 WHERE id = ? AND version = ?")
+@SQLRestriction("active = true")
 @Getter @Setter  @NoArgsConstructor @AllArgsConstructor
 public class Alert extends AbstractBaseEntity {
     @ManyToOne
@@ -24,4 +28,6 @@ public class Alert extends AbstractBaseEntity {
     private EAlertType alert;
     @Column(name = "is_read",nullable = false)
     private Boolean isRead = Boolean.FALSE;
+    @Version
+    private Long version;
 }
@@ -0,0 +1,15 @@
+package com.andremugabo.Budgy.core.alert.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when an alert is saved; listeners that must only see committed alerts
+ * use @TransactionalEventListener.
+ */
+@Getter
+@AllArgsConstructor
+public class AlertCreatedEvent {
+
+    private final Alert alert;
+}
@@ -0,0 +1,39 @@
+package com.andremugabo.Budgy.core.alert.model;
+
+import com.andremugabo.Budgy.core.util.alert.EAlertType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Alert as pushed on the SSE stream: the alert's own columns plus the owner's id, without the user graph.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertEventDto {
+
+    private UUID id;
+
+    private UUID userId;
+
+    private String title;
+
+    private String message;
+
+    private EAlertType alert;
+
+    private Boolean isRead;
+
+    private LocalDateTime createdAt;
+
+    public static AlertEventDto from(Alert alert) {
+        return new AlertEventDto(alert.getId(), alert.getUsers().getId(), alert.getTitle(), alert.getMessage(),
+                alert.getAlert(), alert.getIsRead(), alert.getCreatedAt());
+    }
+}
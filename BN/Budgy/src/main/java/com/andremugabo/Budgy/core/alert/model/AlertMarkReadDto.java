@@ -0,0 +1,19 @@
+package com.andremugabo.Budgy.core.alert.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertMarkReadDto {
+
+    // Alerts to mark as read; null or empty marks all of the user's unread alerts
+    private List<UUID> alertIds;
+}
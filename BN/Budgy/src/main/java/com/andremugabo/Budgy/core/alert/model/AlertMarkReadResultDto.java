@@ -0,0 +1,17 @@
+package com.andremugabo.Budgy.core.alert.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertMarkReadResultDto {
+
+    private int updated;
+
+    private long unreadCount;
+}
@@ -0,0 +1,27 @@
+package com.andremugabo.Budgy.core.alert.model;
+
+import com.andremugabo.Budgy.core.util.alert.EAlertType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Fields left out (null) keep their stored value
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertPatchDto {
+
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    private String title;
+
+    private String message;
+
+    private EAlertType alert;
+
+    private Boolean isRead;
+}
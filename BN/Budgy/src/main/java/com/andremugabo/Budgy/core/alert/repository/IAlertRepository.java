@@ -1,12 +1,59 @@
 package com.andremugabo.Budgy.core.alert.repository;
 
 import com.andremugabo.Budgy.core.alert.model.Alert;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface IAlertRepository extends JpaRepository<Alert, UUID> {
     List<Alert> findByUsersId(UUID userId);
     List<Alert> findByIsReadFalseAndUsersId(UUID userId);
+
+    // count(*) so PostgreSQL can answer from the partial index idx_alert_user_unread alone (see V6 migration)
+    @Query(value = "SELECT count(*) FROM alert WHERE user_id = :userId AND is_read = false AND active", nativeQuery = true)
+    long countUnreadByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true, a.version = a.version + 1 WHERE a.users.id = :userId AND a.isRead = false")
+    int markAllReadByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true, a.version = a.version + 1 WHERE a.users.id = :userId AND a.isRead = false AND a.id IN :ids")
+    int markReadByUserIdAndIds(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    // Keyset pages ordered newest first on (created_at, id)
+    @Query("SELECT a FROM Alert a ORDER BY a.createdAt DESC, a.id DESC")
+    List<Alert> findFirstPage(Pageable pageable);
+
+    @Query("SELECT a FROM Alert a WHERE (a.createdAt, a.id) < (:createdAt, :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Alert> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT a FROM Alert a WHERE a.users.id = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<Alert> findFirstPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("SELECT a FROM Alert a WHERE a.users.id = :userId AND (a.createdAt, a.id) < (:createdAt, :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Alert> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id, Pageable pageable);
+
+    // Oldest first after a keyset position; replays what a reconnecting SSE client missed
+    @Query("SELECT a FROM Alert a WHERE a.users.id = :userId AND (a.createdAt, a.id) > (:createdAt, :id) ORDER BY a.createdAt, a.id")
+    List<Alert> findByUserIdSince(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") UUID id, Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Alert a WHERE a.users.id = :userId ORDER BY a.createdAt, a.id")
+    Stream<Alert> streamByUserId(@Param("userId") UUID userId);
 }
@@ -0,0 +1,278 @@
+package com.andremugabo.Budgy.core.alert.service;
+
+import com.andremugabo.Budgy.core.alert.model.Alert;
+import com.andremugabo.Budgy.core.income.model.IncomeRegisteredEvent;
+import com.andremugabo.Budgy.core.savings.model.SavingsUpdatedEvent;
+import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.alert.EAlertType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns committed income and savings changes into alerts without rescanning anyone's ledger.
+ * <p>
+ * Events are routed by user onto one of a fixed number of bounded queues, each drained by a single
+ * worker, so a user's events are evaluated in commit order. A worker takes up to batch-size events at
+ * a time, evaluates them, and writes the resulting alerts in one batched insert. Several incomes for
+ * the same user within one batch become a single INCOME_RECEIVED alert. For savings the only state
+ * kept is the highest progress threshold already announced per goal, so a goal hovering around a
+ * threshold is not announced twice. When a queue stays full for offer-timeout the event is dropped
+ * and counted rather than slowing down the request that produced it.
+ */
+@Slf4j
+@Component
+public class AlertRulePipeline {
+
+    private static final int GOAL_REACHED = 100;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final IAlertService alertService;
+    private final IUserRepository userRepository;
+    private final int shards;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final int[] progressThresholds;
+    private final Cache<UUID, Integer> announcedThreshold;
+    private final Counter acceptedEvents;
+    private final Counter droppedEvents;
+    private final Counter createdAlerts;
+
+    private BlockingQueue<Object>[] queues;
+    private Thread[] workers;
+    private volatile boolean running;
+
+    public AlertRulePipeline(IAlertService alertService,
+                             IUserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${budgy.alerts.rules.shards:4}") int shards,
+                             @Value("${budgy.alerts.rules.queue-capacity:10000}") int queueCapacity,
+                             @Value("${budgy.alerts.rules.batch-size:200}") int batchSize,
+                             @Value("${budgy.alerts.rules.offer-timeout:50ms}") Duration offerTimeout,
+                             @Value("${budgy.alerts.rules.savings-progress-thresholds:25,50,75}") int[] progressThresholds,
+                             @Value("${budgy.alerts.rules.state-size:100000}") long stateSize) {
+        this.alertService = alertService;
+        this.userRepository = userRepository;
+        this.shards = shards;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.progressThresholds = progressThresholds.clone();
+        Arrays.sort(this.progressThresholds);
+        this.announcedThreshold = Caffeine.newBuilder().maximumSize(stateSize).build();
+        this.acceptedEvents = Counter.builder("budgy.alerts.rules.events").tag("outcome", "accepted")
+                .description("Domain events queued for alert rule evaluation").register(meterRegistry);
+        this.droppedEvents = Counter.builder("budgy.alerts.rules.events").tag("outcome", "dropped")
+                .description("Domain events dropped because their queue was full").register(meterRegistry);
+        this.createdAlerts = Counter.builder("budgy.alerts.rules.alerts")
+                .description("Alerts created by the rule pipeline").register(meterRegistry);
+    }
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    void start() {
+        running = true;
+        queues = new BlockingQueue[shards];
+        workers = new Thread[shards];
+        for (int i = 0; i < shards; i++) {
+            BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues[i] = queue;
+            workers[i] = new Thread(() -> work(queue), "alert-rules-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Workers finish what is already queued before the persistence layer shuts down
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onIncomeRegistered(IncomeRegisteredEvent event) {
+        submit(event.getUserId(), event);
+    }
+
+    @TransactionalEventListener
+    public void onSavingsUpdated(SavingsUpdatedEvent event) {
+        submit(event.getUserId(), event);
+    }
+
+    private void submit(UUID userId, Object event) {
+        boolean accepted;
+        try {
+            accepted = queues[Math.floorMod(userId.hashCode(), shards)]
+                    .offer(event, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (accepted) {
+            acceptedEvents.increment();
+        } else {
+            droppedEvents.increment();
+            log.warn("Alert rule queue full, dropped {} for user {}", event.getClass().getSimpleName(), userId);
+        }
+    }
+
+    private void work(BlockingQueue<Object> queue) {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                List<Alert> alerts = evaluate(batch);
+                if (!alerts.isEmpty()) {
+                    alertService.createAlerts(alerts);
+                    createdAlerts.increment(alerts.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Alert rule batch of {} events failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Events arrive in per-user commit order; alerts are returned in the same order
+    List<Alert> evaluate(List<Object> events) {
+        List<Alert> alerts = new ArrayList<>();
+        Map<UUID, IncomeTally> incomeByUser = new HashMap<>();
+        for (Object event : events) {
+            if (event instanceof IncomeRegisteredEvent income) {
+                IncomeTally tally = incomeByUser.get(income.getUserId());
+                if (tally == null) {
+                    tally = new IncomeTally(newAlert(income.getUserId(), EAlertType.INCOME_RECEIVED));
+                    incomeByUser.put(income.getUserId(), tally);
+                    alerts.add(tally.alert);
+                }
+                tally.add(income);
+            } else if (event instanceof SavingsUpdatedEvent savings) {
+                Alert alert = evaluateSavings(savings);
+                if (alert != null) {
+                    alerts.add(alert);
+                }
+            }
+        }
+        return alerts;
+    }
+
+    private Alert evaluateSavings(SavingsUpdatedEvent event) {
+        if (event.getCurrentAmount() == null || event.getTargetAmount() == null
+                || event.getTargetAmount().signum() <= 0) {
+            return null;
+        }
+        int previous = percentOf(event.getPreviousAmount(), event.getTargetAmount());
+        int current = percentOf(event.getCurrentAmount(), event.getTargetAmount());
+        // Without remembered state (e.g. after a restart) whatever the old amount had crossed counts as announced
+        int announced = Math.max(highestThresholdAtOrBelow(previous),
+                announcedThreshold.get(event.getSavingsId(), id -> 0));
+        int crossed = highestThresholdAtOrBelow(current);
+        if (crossed <= announced) {
+            return null;
+        }
+        announcedThreshold.put(event.getSavingsId(), crossed);
+
+        String target = format(event.getTargetAmount());
+        if (crossed == GOAL_REACHED) {
+            Alert alert = newAlert(event.getUserId(), EAlertType.SAVINGS_GOAL_REACHED);
+            alert.setTitle("Savings goal reached");
+            alert.setMessage("\"" + event.getName() + "\" reached its target of " + target + ".");
+            return alert;
+        }
+        Alert alert = newAlert(event.getUserId(), EAlertType.SAVINGS_GOAL_PROGRESS);
+        alert.setTitle("Savings goal " + crossed + "% reached");
+        alert.setMessage("\"" + event.getName() + "\" is " + crossed + "% of the way to " + target + ".");
+        return alert;
+    }
+
+    private int highestThresholdAtOrBelow(int percent) {
+        if (percent >= GOAL_REACHED) {
+            return GOAL_REACHED;
+        }
+        int highest = 0;
+        for (int threshold : progressThresholds) {
+            if (threshold <= percent) {
+                highest = threshold;
+            }
+        }
+        return highest;
+    }
+
+    private static int percentOf(BigDecimal amount, BigDecimal target) {
+        if (amount == null || amount.signum() <= 0) {
+            return 0;
+        }
+        return amount.multiply(HUNDRED).divide(target, 0, RoundingMode.FLOOR).min(BigDecimal.valueOf(Integer.MAX_VALUE)).intValue();
+    }
+
+    private Alert newAlert(UUID userId, EAlertType type) {
+        Alert alert = new Alert();
+        alert.setUsers(userRepository.getReferenceById(userId));
+        alert.setAlert(type);
+        return alert;
+    }
+
+    private static String format(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static final class IncomeTally {
+
+        private final Alert alert;
+        private int count;
+        private BigDecimal total = BigDecimal.ZERO;
+        private String source;
+
+        IncomeTally(Alert alert) {
+            this.alert = alert;
+        }
+
+        void add(IncomeRegisteredEvent income) {
+            count++;
+            if (income.getAmount() != null) {
+                total = total.add(income.getAmount());
+            }
+            source = income.getSource();
+            if (count == 1) {
+                alert.setTitle("Income received");
+                alert.setMessage("You received " + format(total) + " from " + source + ".");
+            } else {
+                alert.setTitle(count + " incomes received");
+                alert.setMessage("You received " + format(total) + " across " + count + " incomes.");
+            }
+        }
+    }
+}
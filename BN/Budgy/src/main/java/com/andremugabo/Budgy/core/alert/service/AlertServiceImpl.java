@@ -1,9 +1,21 @@
 package com.andremugabo.Budgy.core.alert.service;
 
 import com.andremugabo.Budgy.core.alert.model.Alert;
+import com.andremugabo.Budgy.core.alert.model.AlertCreatedEvent;
+import com.andremugabo.Budgy.core.alert.model.AlertMarkReadResultDto;
+import com.andremugabo.Budgy.core.alert.model.AlertPatchDto;
 import com.andremugabo.Budgy.core.alert.repository.IAlertRepository;
+import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
+import com.andremugabo.Budgy.core.util.patch.PatchUpdate;
+import com.andremugabo.Budgy.core.util.user.Ownership;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,41 +26,134 @@ import java.util.UUID;
 public class AlertServiceImpl implements IAlertService {
 
     private final IAlertRepository alertRepository;
+    private final IUserRepository userRepository;
+    private final AlertStreamHub alertStreamHub;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
-    public Alert createAlert(Alert alert) {
-        return alertRepository.save(alert);
+    @Transactional
+    public Alert createAlert(UUID userId, Alert alert) {
+        if (userId != null) {
+            // Loaded rather than referenced: the owner is serialized with the alert
+            alert.setUsers(userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId)));
+        }
+        Alert saved = alertRepository.save(alert);
+        // Delivered to open streams once the surrounding transaction commits
+        eventPublisher.publishEvent(new AlertCreatedEvent(saved));
+        return saved;
     }
 
     @Override
-    public Optional<Alert> updateAlert(Alert alert) {
-        if(alertRepository.existsById(alert.getId())) {
-            return Optional.of(alertRepository.save(alert));
+    @Transactional
+    public List<Alert> createAlerts(List<Alert> alerts) {
+        // One JDBC batch for the whole list; each alert still reaches open streams after commit
+        List<Alert> saved = alertRepository.saveAll(alerts);
+        for (Alert alert : saved) {
+            eventPublisher.publishEvent(new AlertCreatedEvent(alert));
         }
-        return Optional.empty();
+        return saved;
     }
 
     @Override
-    public boolean deleteAlert(UUID id) {
-        if(alertRepository.existsById(id)) {
-            alertRepository.deleteById(id);
-            return true;
+    @Transactional
+    public Optional<Alert> updateAlert(Alert alert, UUID ownerId) {
+        Optional<Alert> existing = alertRepository.findById(alert.getId())
+                .filter(found -> Ownership.permits(ownerId, found.getUsers()));
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        // The owner is not editable, whatever the body says
+        alert.setUsers(existing.get().getUsers());
+        // Clients that do not send the version they read overwrite whatever is stored, as before
+        if (alert.getVersion() == null) {
+            alert.setVersion(existing.get().getVersion());
         }
-        return false;
+        return Optional.of(alertRepository.save(alert));
     }
 
     @Override
+    @Transactional
+    public Optional<Alert> patchAlert(UUID id, AlertPatchDto patch, UUID ownerId) {
+        PatchUpdate update = new PatchUpdate("alert")
+                .ownedBy(ownerId)
+                .set("title", patch.getTitle())
+                .set("alert_message", patch.getMessage())
+                .set("alert_type", patch.getAlert())
+                .set("is_read", patch.getIsRead());
+        if (!update.apply(jdbcTemplate, id, patch.getVersion())) {
+            return Optional.empty();
+        }
+        return alertRepository.findById(id);
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteAlert(UUID id, Long version, UUID ownerId) {
+        Optional<Alert> existing = alertRepository.findById(id)
+                .filter(found -> Ownership.permits(ownerId, found.getUsers()));
+        if (existing.isEmpty()) {
+            return false;
+        }
+        // Without a version the delete wins over whatever is stored, as an update without one does
+        if (version != null && !version.equals(existing.get().getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Alert.class, id);
+        }
+        alertRepository.delete(existing.get());
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Alert> getAllAlerts() {
         return alertRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsByUserId(UUID userId) {
         return alertRepository.findByUsersId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Alert> getUnreadAlertsByUserId(UUID userId) {
         return alertRepository.findByIsReadFalseAndUsersId(userId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countUnreadAlertsByUserId(UUID userId) {
+        return alertRepository.countUnreadByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public AlertMarkReadResultDto markAlertsRead(UUID userId, List<UUID> alertIds) {
+        // One set-based UPDATE; ids belonging to other users or already read are simply not matched
+        int updated = alertIds == null || alertIds.isEmpty()
+                ? alertRepository.markAllReadByUserId(userId)
+                : alertRepository.markReadByUserIdAndIds(userId, alertIds);
+        return new AlertMarkReadResultDto(updated, alertRepository.countUnreadByUserId(userId));
+    }
+
+    @Override
+    public SseEmitter streamAlertsByUserId(UUID userId, String lastEventId) {
+        return alertStreamHub.subscribe(userId, lastEventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Alert> getAlertPage(String after, int limit) {
+        return CursorPage.fetch(after, limit, alertRepository::findFirstPage, alertRepository::findPageAfter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Alert> getAlertPageByUserId(UUID userId, String after, int limit) {
+        return CursorPage.fetch(after, limit,
+                pageable -> alertRepository.findFirstPageByUserId(userId, pageable),
+                (createdAt, id, pageable) -> alertRepository.findPageByUserIdAfter(userId, createdAt, id, pageable));
+    }
 }
@@ -0,0 +1,289 @@
+package com.andremugabo.Budgy.core.alert.service;
+
+import com.andremugabo.Budgy.core.alert.model.Alert;
+import com.andremugabo.Budgy.core.alert.model.AlertCreatedEvent;
+import com.andremugabo.Budgy.core.alert.model.AlertEventDto;
+import com.andremugabo.Budgy.core.alert.repository.IAlertRepository;
+import com.andremugabo.Budgy.core.util.pagination.InvalidCursorException;
+import com.andremugabo.Budgy.core.util.pagination.PageCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of newly committed alerts to the SSE streams of their owner.
+ * <p>
+ * An open stream is an async servlet request plus a small queue, so idle connections hold no thread.
+ * Deliveries run on the application task executor, at most one drain per subscriber at a time, and a
+ * subscriber that falls more than queue-capacity events behind has its backlog replaced by a single
+ * "resync" event telling the client to refetch. Event ids are keyset cursors, so a client reconnecting
+ * with Last-Event-ID is first replayed what it missed from the database.
+ * <p>
+ * Only alerts created on this instance are pushed live; streams on other instances see them on resume.
+ */
+@Slf4j
+@Component
+public class AlertStreamHub {
+
+    static final String ALERT_EVENT = "alert";
+    static final String RESYNC_EVENT = "resync";
+
+    private final IAlertRepository alertRepository;
+    private final TaskExecutor executor;
+    private final Duration timeout;
+    private final Duration reconnectDelay;
+    private final int queueCapacity;
+    private final int replayLimit;
+    private final ConcurrentMap<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter resyncCounter;
+
+    public AlertStreamHub(IAlertRepository alertRepository,
+                          @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                          MeterRegistry meterRegistry,
+                          @Value("${budgy.alerts.stream.timeout:30m}") Duration timeout,
+                          @Value("${budgy.alerts.stream.reconnect-delay:5s}") Duration reconnectDelay,
+                          @Value("${budgy.alerts.stream.queue-capacity:64}") int queueCapacity,
+                          @Value("${budgy.alerts.stream.replay-limit:100}") int replayLimit) {
+        this.alertRepository = alertRepository;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.reconnectDelay = reconnectDelay;
+        this.queueCapacity = queueCapacity;
+        this.replayLimit = replayLimit;
+        Gauge.builder("budgy.alerts.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open alert SSE streams on this instance")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("budgy.alerts.stream.resyncs")
+                .description("Streams whose backlog overflowed and were told to refetch")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> remove(userId, subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(e -> remove(userId, subscriber));
+        // Registered before the replay query, so nothing committed in between is missed
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> current = set == null ? ConcurrentHashMap.newKeySet() : set;
+            current.add(subscriber);
+            return current;
+        });
+        subscriberCount.incrementAndGet();
+
+        PageCursor resumeFrom = parseLastEventId(lastEventId);
+        if (resumeFrom != null) {
+            List<Alert> missed = alertRepository.findByUserIdSince(userId, resumeFrom.getCreatedAt(),
+                    resumeFrom.getId(), PageRequest.of(0, replayLimit + 1));
+            subscriber.replay(missed);
+        }
+        subscriber.start();
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertCreated(AlertCreatedEvent event) {
+        Alert alert = event.getAlert();
+        if (alert.getUsers() == null || alert.getUsers().getId() == null) {
+            return;
+        }
+        Set<Subscriber> targets = subscribers.get(alert.getUsers().getId());
+        if (targets == null) {
+            return;
+        }
+        AlertEventDto dto = AlertEventDto.from(alert);
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(dto);
+        }
+    }
+
+    // Keeps idle connections from being cut by proxies and detects clients that went away
+    @Scheduled(initialDelayString = "${budgy.alerts.stream.heartbeat-interval:15s}",
+            fixedDelayString = "${budgy.alerts.stream.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    private void remove(UUID userId, Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static PageCursor parseLastEventId(String lastEventId) {
+        try {
+            return PageCursor.decode(lastEventId);
+        } catch (InvalidCursorException e) {
+            // An id we did not issue; treat the connection as a fresh one
+            return null;
+        }
+    }
+
+    private static String eventId(AlertEventDto alert) {
+        // Same precision as the stored column, so the cursor compares equal to the row on resume
+        return new PageCursor(alert.getCreatedAt().truncatedTo(ChronoUnit.MICROS), alert.getId()).encode();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Guarded by this; the pending queue is bounded by queueCapacity
+        private final ArrayDeque<AlertEventDto> pending = new ArrayDeque<>();
+        private boolean overflowed;
+        private String overflowedThrough;
+        private boolean heartbeatDue = true;
+        private boolean greeted;
+        private boolean started;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(AlertEventDto alert) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= queueCapacity) {
+                // Coalesce the whole backlog into one resync; the client refetches instead
+                pending.clear();
+                if (!overflowed) {
+                    resyncCounter.increment();
+                }
+                overflowed = true;
+                overflowedThrough = eventId(alert);
+            } else {
+                pending.add(alert);
+            }
+            scheduleDrain();
+        }
+
+        synchronized void heartbeat() {
+            if (closed || overflowed || !pending.isEmpty()) {
+                return;
+            }
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        synchronized void replay(List<Alert> missed) {
+            if (missed.size() > replayLimit) {
+                // Too far behind to replay; live events still follow
+                overflowed = true;
+                overflowedThrough = null;
+                resyncCounter.increment();
+                return;
+            }
+            Set<UUID> replayed = new HashSet<>();
+            ArrayDeque<AlertEventDto> ordered = new ArrayDeque<>();
+            for (Alert alert : missed) {
+                replayed.add(alert.getId());
+                ordered.add(AlertEventDto.from(alert));
+            }
+            for (AlertEventDto live : pending) {
+                if (!replayed.contains(live.getId())) {
+                    ordered.add(live);
+                }
+            }
+            pending.clear();
+            pending.addAll(ordered);
+        }
+
+        synchronized void start() {
+            started = true;
+            scheduleDrain();
+        }
+
+        // Returns false if it was already closed
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            pending.clear();
+            return true;
+        }
+
+        private void scheduleDrain() {
+            if (started && !draining && (overflowed || heartbeatDue || !pending.isEmpty())) {
+                draining = true;
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                synchronized (this) {
+                    next = closed ? null : nextEvent();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Alert stream closed: {}", e.getMessage());
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        private SseEmitter.SseEventBuilder nextEvent() {
+            if (!greeted) {
+                greeted = true;
+                heartbeatDue = false;
+                return SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected");
+            }
+            if (overflowed) {
+                overflowed = false;
+                SseEmitter.SseEventBuilder resync = SseEmitter.event().name(RESYNC_EVENT).data("refetch");
+                return overflowedThrough == null ? resync : resync.id(overflowedThrough);
+            }
+            AlertEventDto alert = pending.poll();
+            if (alert != null) {
+                return SseEmitter.event().id(eventId(alert)).name(ALERT_EVENT).data(alert, MediaType.APPLICATION_JSON);
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return null;
+        }
+    }
+}
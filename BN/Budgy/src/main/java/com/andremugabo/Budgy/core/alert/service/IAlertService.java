@@ -1,16 +1,27 @@
 package com.andremugabo.Budgy.core.alert.service;
 
 import com.andremugabo.Budgy.core.alert.model.Alert;
+import com.andremugabo.Budgy.core.alert.model.AlertMarkReadResultDto;
+import com.andremugabo.Budgy.core.alert.model.AlertPatchDto;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface IAlertService {
-    Alert createAlert(Alert alert);
-    Optional<Alert> updateAlert(Alert alert);
-    boolean deleteAlert(UUID id);
+    Alert createAlert(UUID userId, Alert alert);
+    List<Alert> createAlerts(List<Alert> alerts);
+    Optional<Alert> updateAlert(Alert alert, UUID ownerId);
+    Optional<Alert> patchAlert(UUID id, AlertPatchDto patch, UUID ownerId);
+    boolean deleteAlert(UUID id, Long version, UUID ownerId);
     List<Alert> getAllAlerts();
     List<Alert> getAlertsByUserId(UUID userId);
     List<Alert> getUnreadAlertsByUserId(UUID userId);
+    long countUnreadAlertsByUserId(UUID userId);
+    AlertMarkReadResultDto markAlertsRead(UUID userId, List<UUID> alertIds);
+    SseEmitter streamAlertsByUserId(UUID userId, String lastEventId);
+    CursorPage<Alert> getAlertPage(String after, int limit);
+    CursorPage<Alert> getAlertPageByUserId(UUID userId, String after, int limit);
 }
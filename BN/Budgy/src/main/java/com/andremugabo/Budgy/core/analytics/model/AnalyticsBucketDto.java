@@ -0,0 +1,27 @@
+package com.andremugabo.Budgy.core.analytics.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsBucketDto {
+
+    private LocalDate bucketStart;
+
+    private BigDecimal total = BigDecimal.ZERO;
+
+    private long entryCount;
+
+    // Category id (expenses) or income type (income) to the total for this bucket
+    private Map<String, BigDecimal> breakdown = new LinkedHashMap<>();
+}
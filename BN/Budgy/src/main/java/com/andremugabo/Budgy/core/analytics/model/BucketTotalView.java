@@ -0,0 +1,19 @@
+package com.andremugabo.Budgy.core.analytics.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of a date_trunc GROUP BY: the bucket start, the breakdown key (category id or income type)
+ * and the sum and count of the entries in that cell.
+ */
+public interface BucketTotalView {
+
+    LocalDate getBucketStart();
+
+    String getGroupKey();
+
+    BigDecimal getTotal();
+
+    Long getEntryCount();
+}
@@ -0,0 +1,29 @@
+package com.andremugabo.Budgy.core.analytics.model;
+
+import com.andremugabo.Budgy.core.util.analytics.EAnalyticsBucket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingAnalyticsDto {
+
+    private EAnalyticsBucket bucket;
+
+    // Inclusive date range covered by the buckets
+    private LocalDate from;
+
+    private LocalDate to;
+
+    // Only buckets with at least one entry are listed, oldest first
+    private List<AnalyticsBucketDto> expenses;
+
+    private List<AnalyticsBucketDto> income;
+}
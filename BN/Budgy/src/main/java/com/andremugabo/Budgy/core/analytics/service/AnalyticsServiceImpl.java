@@ -0,0 +1,122 @@
+package com.andremugabo.Budgy.core.analytics.service;
+
+import com.andremugabo.Budgy.core.analytics.model.AnalyticsBucketDto;
+import com.andremugabo.Budgy.core.analytics.model.BucketTotalView;
+import com.andremugabo.Budgy.core.analytics.model.SpendingAnalyticsDto;
+import com.andremugabo.Budgy.core.expenses.repository.IExpenseRepository;
+import com.andremugabo.Budgy.core.income.repository.IIncomeRepository;
+import com.andremugabo.Budgy.core.ledger.model.LedgerColumns;
+import com.andremugabo.Budgy.core.ledger.model.UserLedger;
+import com.andremugabo.Budgy.core.ledger.service.ILedgerCacheService;
+import com.andremugabo.Budgy.core.util.analytics.EAnalyticsBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements IAnalyticsService {
+
+    // Caps the response at a few hundred buckets per series, whatever range is asked for
+    static final int MAX_BUCKETS = 400;
+    static final String UNCATEGORISED = "uncategorised";
+
+    private final IExpenseRepository expenseRepository;
+    private final IIncomeRepository incomeRepository;
+    // Present when budgy.ledger-cache.enabled is set
+    private final Optional<ILedgerCacheService> ledgerCache;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SpendingAnalyticsDto getSpending(UUID userId, String bucket, LocalDate from, LocalDate to) {
+        EAnalyticsBucket unit = bucket == null ? EAnalyticsBucket.MONTH : EAnalyticsBucket.fromParameter(bucket);
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? defaultStart(unit, end) : from;
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (bucketCount(unit, start, end) > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Range spans more than " + MAX_BUCKETS + " " + unit.sqlUnit()
+                    + " buckets; use a shorter range or a larger bucket");
+        }
+
+        Optional<UserLedger> ledger = ledgerCache.flatMap(cache -> cache.getLedger(userId));
+        if (ledger.isPresent()) {
+            int fromDay = Math.toIntExact(start.toEpochDay());
+            int toDay = Math.toIntExact(end.toEpochDay());
+            return new SpendingAnalyticsDto(unit, start, end,
+                    toBuckets(ledger.get().expenses(), unit, fromDay, toDay),
+                    toBuckets(ledger.get().income(), unit, fromDay, toDay));
+        }
+
+        // to is inclusive, so the SQL range ends at the start of the following day
+        List<BucketTotalView> expenseRows = expenseRepository.sumByBucketAndCategory(userId, unit.sqlUnit(),
+                start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+        List<BucketTotalView> incomeRows = incomeRepository.sumByBucketAndType(userId, unit.sqlUnit(),
+                start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+        return new SpendingAnalyticsDto(unit, start, end, toBuckets(expenseRows), toBuckets(incomeRows));
+    }
+
+    private static List<AnalyticsBucketDto> toBuckets(List<BucketTotalView> rows) {
+        // Rows arrive ordered by bucket, so each bucket is a contiguous run
+        Map<LocalDate, AnalyticsBucketDto> buckets = new LinkedHashMap<>();
+        for (BucketTotalView row : rows) {
+            AnalyticsBucketDto bucket = buckets.computeIfAbsent(row.getBucketStart(), start -> {
+                AnalyticsBucketDto created = new AnalyticsBucketDto();
+                created.setBucketStart(start);
+                return created;
+            });
+            bucket.setTotal(bucket.getTotal().add(row.getTotal()));
+            bucket.setEntryCount(bucket.getEntryCount() + row.getEntryCount());
+            bucket.getBreakdown().put(row.getGroupKey() == null ? UNCATEGORISED : row.getGroupKey(), row.getTotal());
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    // Same buckets as the SQL path, from the cached columns; only the output is allocated
+    private static List<AnalyticsBucketDto> toBuckets(LedgerColumns columns, EAnalyticsBucket unit, int fromDay, int toDay) {
+        String[] groupKeys = columns.groupKeys();
+        List<AnalyticsBucketDto> buckets = new ArrayList<>();
+        columns.forEachBucket(fromDay, toDay, unit, (bucketNumber, sums, counts) -> {
+            AnalyticsBucketDto bucket = new AnalyticsBucketDto();
+            bucket.setBucketStart(unit.bucketStart(bucketNumber));
+            long total = 0;
+            for (int group = 0; group < groupKeys.length; group++) {
+                if (counts[group] > 0) {
+                    total += sums[group];
+                    bucket.setEntryCount(bucket.getEntryCount() + counts[group]);
+                    bucket.getBreakdown().put(groupKeys[group] == null ? UNCATEGORISED : groupKeys[group],
+                            LedgerColumns.toAmount(sums[group]));
+                }
+            }
+            bucket.setTotal(LedgerColumns.toAmount(total));
+            buckets.add(bucket);
+        });
+        return buckets;
+    }
+
+    private static LocalDate defaultStart(EAnalyticsBucket unit, LocalDate end) {
+        return switch (unit) {
+            case DAY -> end.minusDays(29);
+            case WEEK -> end.minusWeeks(11);
+            case MONTH -> end.minusMonths(11).withDayOfMonth(1);
+        };
+    }
+
+    private static long bucketCount(EAnalyticsBucket unit, LocalDate start, LocalDate end) {
+        return switch (unit) {
+            case DAY -> ChronoUnit.DAYS.between(start, end) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(start, end) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(start.withDayOfMonth(1), end.withDayOfMonth(1)) + 1;
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.andremugabo.Budgy.core.analytics.service;
+
+import com.andremugabo.Budgy.core.analytics.model.SpendingAnalyticsDto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface IAnalyticsService {
+
+    // Expense totals per bucket and category plus income totals per bucket and type; from/to are inclusive and optional
+    SpendingAnalyticsDto getSpending(UUID userId, String bucket, LocalDate from, LocalDate to);
+}
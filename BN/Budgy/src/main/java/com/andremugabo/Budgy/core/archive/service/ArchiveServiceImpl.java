@@ -0,0 +1,153 @@
+package com.andremugabo.Budgy.core.archive.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves soft-deleted rows out of the live tables into the archive schema (see the V6 migration), so the
+ * tables and the indexes the repositories read only hold what is still in use.
+ * <p>
+ * A row is moved once it has been inactive for the retention period. A user inactive that long is moved
+ * together with everything they own, children first. Each chunk of chunk-size rows is moved by one
+ * DELETE ... RETURNING into an INSERT in its own transaction, so locks stay short; rows locked by a
+ * concurrent writer or another instance's archiver are skipped until the next run.
+ */
+@Slf4j
+@Service
+public class ArchiveServiceImpl implements IArchiveService {
+
+    private static final String ARCHIVE_SCHEMA = "archive";
+    private static final List<String> SOFT_DELETED_TABLES = List.of("alert", "savings", "income", "expense");
+    private static final List<String> USER_CHILD_TABLES = List.of("alert", "savings_contribution", "savings", "income", "expense",
+            "monthly_income_summary", "monthly_expense_summary");
+    // Partitioned by created_at (V4 migration), so rows are addressed by their full primary key
+    private static final Set<String> PARTITIONED_TABLES = Set.of("income", "expense");
+    private static final int USERS_PER_ROUND = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final Map<String, String> columnLists = new ConcurrentHashMap<>();
+
+    public ArchiveServiceImpl(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${budgy.archive.inactive-retention:30d}") Duration retention,
+                              @Value("${budgy.archive.chunk-size:1000}") int chunkSize,
+                              @Value("${budgy.archive.max-chunks:100}") int maxChunks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(initialDelayString = "${budgy.archive.interval:1h}", fixedDelayString = "${budgy.archive.interval:1h}")
+    public void run() {
+        int moved = archiveInactive();
+        if (moved > 0) {
+            log.info("Archived {} inactive rows", moved);
+        }
+    }
+
+    @Override
+    public int archiveInactive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        // Contributions go with their goal, ahead of it; a goal is only moved once none refer to it
+        int moved = moveInChunks("savings_contribution",
+                "savings_id IN (SELECT s.id FROM savings s WHERE NOT s.active AND s.updated_at < ?)", cutoff);
+        for (String table : SOFT_DELETED_TABLES) {
+            String predicate = "NOT active AND updated_at < ?";
+            if (table.equals("savings")) {
+                predicate += " AND NOT EXISTS (SELECT 1 FROM savings_contribution c WHERE c.savings_id = savings.id)";
+            }
+            moved += moveInChunks(table, predicate, cutoff);
+        }
+        moved += archiveInactiveUsers(cutoff);
+        // Categories only once no remaining expense refers to them
+        moved += moveInChunks("expense_category", "NOT active AND updated_at < ? "
+                + "AND NOT EXISTS (SELECT 1 FROM expense e WHERE e.category_id = expense_category.id)", cutoff);
+        return moved;
+    }
+
+    private int archiveInactiveUsers(LocalDateTime cutoff) {
+        int moved = 0;
+        for (int round = 0; round < maxChunks; round++) {
+            List<UUID> userIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE NOT active AND updated_at < ? ORDER BY updated_at LIMIT ?",
+                    UUID.class, cutoff, USERS_PER_ROUND);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            UUID[] ids = userIds.toArray(UUID[]::new);
+            for (String table : USER_CHILD_TABLES) {
+                moved += moveInChunks(table, "user_id = ANY(?)", ids);
+            }
+            int users = moveChunk("users", "id = ANY(?) "
+                    + "AND NOT EXISTS (SELECT 1 FROM alert c WHERE c.user_id = users.id) "
+                    + "AND NOT EXISTS (SELECT 1 FROM savings c WHERE c.user_id = users.id) "
+                    + "AND NOT EXISTS (SELECT 1 FROM savings_contribution c WHERE c.user_id = users.id) "
+                    + "AND NOT EXISTS (SELECT 1 FROM income c WHERE c.user_id = users.id) "
+                    + "AND NOT EXISTS (SELECT 1 FROM expense c WHERE c.user_id = users.id)", ids);
+            moved += users;
+            if (users < userIds.size()) {
+                // Some still own rows (locked or written meanwhile); they are picked up again next run
+                break;
+            }
+        }
+        return moved;
+    }
+
+    private int moveInChunks(String table, String predicate, Object parameter) {
+        int moved = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            int count = moveChunk(table, predicate, parameter);
+            moved += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    private int moveChunk(String table, String predicate, Object parameter) {
+        String key = PARTITIONED_TABLES.contains(table) ? "id, created_at" : "id";
+        String columns = columnsOf(table);
+        String sql = "WITH moved AS (DELETE FROM " + table + " WHERE (" + key + ") IN ("
+                + "SELECT " + key + " FROM " + table + " WHERE " + predicate + " LIMIT ? FOR UPDATE SKIP LOCKED) "
+                + "RETURNING " + columns + ") "
+                + "INSERT INTO " + ARCHIVE_SCHEMA + "." + table + " (" + columns + ") SELECT " + columns + " FROM moved";
+        Integer moved = transactionTemplate.execute(status -> jdbcTemplate.update(sql, parameter, chunkSize));
+        int count = moved == null ? 0 : moved;
+        if (count > 0) {
+            meterRegistry.counter("budgy.archive.rows", "table", table).increment(count);
+        }
+        return count;
+    }
+
+    // Copied by name, so the archive tables only need the same columns, not the same order
+    private String columnsOf(String table) {
+        return columnLists.computeIfAbsent(table, name -> String.join(", ", jdbcTemplate.queryForList(
+                "SELECT quote_ident(column_name) FROM information_schema.columns "
+                        + "WHERE table_schema = current_schema() AND table_name = ? ORDER BY ordinal_position",
+                String.class, name)));
+    }
+}
@@ -0,0 +1,7 @@
+package com.andremugabo.Budgy.core.archive.service;
+
+public interface IArchiveService {
+
+    // Moves rows inactive for longer than the retention, and everything owned by users inactive that long, into the archive schema; returns the number of rows moved
+    int archiveInactive();
+}
@@ -0,0 +1,24 @@
+package com.andremugabo.Budgy.core.auth.model;
+
+import com.andremugabo.Budgy.core.user.model.Users;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginResponseDto {
+
+    private String token;
+
+    private String tokenType;
+
+    private Instant expiresAt;
+
+    private Users user;
+}
@@ -0,0 +1,61 @@
+package com.andremugabo.Budgy.core.auth.model;
+
+import com.andremugabo.Budgy.core.util.user.EUserRole;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Payload of a signed access token. Everything a request needs to know about its caller,
+ * so verification never has to load the user.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenClaims {
+
+    // Request attribute under which the filter exposes the verified claims to controllers
+    public static final String REQUEST_ATTRIBUTE = "budgy.tokenClaims";
+
+    @JsonProperty("sub")
+    private UUID userId;
+
+    @JsonProperty("role")
+    private EUserRole role;
+
+    @JsonProperty("jti")
+    private String tokenId;
+
+    // Seconds since the epoch, as in JWT
+    @JsonProperty("iat")
+    private long issuedAt;
+
+    @JsonProperty("exp")
+    private long expiresAt;
+
+    // The user's token_epoch at issue time; tokens from an older epoch are revoked
+    @JsonProperty("tep")
+    private int tokenEpoch;
+
+    @JsonIgnore
+    public boolean isAdmin() {
+        return role == EUserRole.ADMIN;
+    }
+
+    // The only user whose rows the caller may change; null for admins and when authentication is off
+    public static UUID ownerScope(TokenClaims claims) {
+        return claims == null || claims.isAdmin() ? null : claims.getUserId();
+    }
+
+    // Owner of a new row: the caller, unless an admin (or an open API) names another user
+    public static UUID ownerFor(TokenClaims claims, UUID requested) {
+        if (claims == null) {
+            return requested;
+        }
+        return claims.isAdmin() && requested != null ? requested : claims.getUserId();
+    }
+}
@@ -0,0 +1,19 @@
+package com.andremugabo.Budgy.core.auth.service;
+
+import com.andremugabo.Budgy.core.auth.model.LoginResponseDto;
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.andremugabo.Budgy.core.user.model.Users;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ITokenService {
+
+    LoginResponseDto issueToken(Users user);
+
+    Optional<TokenClaims> verify(String token);
+
+    void revoke(TokenClaims claims);
+
+    void revokeAllForUser(UUID userId);
+}
@@ -0,0 +1,181 @@
+package com.andremugabo.Budgy.core.auth.service;
+
+import com.andremugabo.Budgy.core.auth.model.LoginResponseDto;
+import com.andremugabo.Budgy.core.auth.model.TokenClaims;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * HS256 JWTs signed with a shared secret. Verification is a single HMAC plus two in-memory cache lookups.
+ * Revoking all of a user's tokens bumps users.token_epoch, which every instance reads through a short-lived
+ * cache (budgy.auth.token-epoch-refresh), so it is shared and survives restarts. Logging out a single token
+ * is remembered per instance, only as long as the token could still be unexpired.
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements ITokenService {
+
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    // Only one header is ever issued, so it is compared verbatim; this also rules out "alg":"none" tricks
+    private static final String HEADER =
+            ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final Mac prototype;
+    private final Duration ttl;
+    private final Cache<String, Boolean> revokedTokens;
+    private final Cache<UUID, Integer> tokenEpochs;
+
+    public TokenServiceImpl(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+                            @Value("${budgy.auth.token-secret:}") String secret,
+                            @Value("${budgy.auth.token-ttl:12h}") Duration ttl,
+                            @Value("${budgy.auth.revocation-cache-size:10000}") long revocationCacheSize,
+                            @Value("${budgy.auth.token-epoch-refresh:30s}") Duration tokenEpochRefresh) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.prototype = createMac(secret);
+        this.revokedTokens = Caffeine.newBuilder().maximumSize(revocationCacheSize).expireAfterWrite(ttl).build();
+        // How long another instance may keep accepting tokens after a revoke-all
+        this.tokenEpochs = Caffeine.newBuilder().maximumSize(revocationCacheSize).expireAfterWrite(tokenEpochRefresh).build();
+    }
+
+    @Override
+    public LoginResponseDto issueToken(Users user) {
+        long now = Instant.now().getEpochSecond();
+        long expiresAt = now + ttl.toSeconds();
+        // Read fresh rather than from the cache, which may still hold an epoch bumped on another instance
+        Integer epoch = loadTokenEpoch(user.getId());
+        if (epoch == null) {
+            throw new IllegalStateException("User not found with ID: " + user.getId());
+        }
+        tokenEpochs.put(user.getId(), epoch);
+        TokenClaims claims = new TokenClaims(user.getId(), user.getRole(), UUID.randomUUID().toString(), now, expiresAt, epoch);
+        try {
+            String signingInput = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            String token = signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+            return new LoginResponseDto(token, TOKEN_TYPE, Instant.ofEpochSecond(expiresAt), user);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize token claims", e);
+        }
+    }
+
+    @Override
+    public Optional<TokenClaims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot < 0 || firstDot == lastDot || !token.startsWith(HEADER + ".")) {
+            return Optional.empty();
+        }
+
+        TokenClaims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, lastDot)))) {
+                return Optional.empty();
+            }
+            claims = objectMapper.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)), TokenClaims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+
+        if (claims.getUserId() == null || claims.getExpiresAt() <= Instant.now().getEpochSecond()) {
+            return Optional.empty();
+        }
+        if (revokedTokens.getIfPresent(claims.getTokenId()) != null) {
+            return Optional.empty();
+        }
+        // Unknown users (archived, or a token from another database) have no epoch and are rejected
+        Integer epoch = tokenEpochs.get(claims.getUserId(), this::loadTokenEpoch);
+        if (epoch == null || claims.getTokenEpoch() < epoch) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    @Override
+    public void revoke(TokenClaims claims) {
+        revokedTokens.put(claims.getTokenId(), Boolean.TRUE);
+    }
+
+    @Override
+    public void revokeAllForUser(UUID userId) {
+        // Every token of this user issued up to now stops verifying, here at once and elsewhere on refresh
+        jdbcTemplate.update("UPDATE users SET token_epoch = token_epoch + 1 WHERE id = ?", userId);
+        tokenEpochs.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A verify running before the commit may have cached the old epoch again
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokenEpochs.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private Integer loadTokenEpoch(UUID userId) {
+        List<Integer> epochs = jdbcTemplate.queryForList("SELECT token_epoch FROM users WHERE id = ?", Integer.class, userId);
+        return epochs.isEmpty() ? null : epochs.get(0);
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            // Mac is not thread-safe; a clone of the initialised prototype skips the key setup
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Mac createMac(String secret) {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            log.warn("budgy.auth.token-secret is not set; using a random key, tokens will not survive a restart");
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            if (key.length < 32) {
+                throw new IllegalStateException("budgy.auth.token-secret must be at least 32 bytes");
+            }
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
 
@@ -15,7 +16,8 @@ import java.time.LocalDateTime;
 public class AbstractAuditEntity {
     @CreationTimestamp
     private LocalDateTime createdAt;
-    @LastModifiedBy
+    // Also when the row was deactivated, which the archiver's retention counts from
+    @UpdateTimestamp
     private LocalDateTime updatedAt;
     @CreatedBy
     private String createdBy;
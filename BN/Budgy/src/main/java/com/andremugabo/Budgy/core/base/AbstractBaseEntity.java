@@ -16,6 +16,8 @@ public class AbstractBaseEntity extends  AbstractAuditEntity{
     @Id
     @UuidGenerator
     private UUID id;
+    // Soft delete flag: entities with @SQLDelete/@SQLRestriction set it to false instead of deleting and
+    // never load inactive rows; ArchiveServiceImpl later moves those rows to the archive schema
     @Column(name = "active",nullable = false)
     private Boolean active = Boolean.TRUE;
 }
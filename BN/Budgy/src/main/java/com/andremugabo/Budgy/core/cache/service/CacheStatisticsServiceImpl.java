@@ -0,0 +1,38 @@
+package com.andremugabo.Budgy.core.cache.service;
+
+import com.andremugabo.Budgy.core.cache.model.CacheRegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements ICacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<CacheRegionStatsDto> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsDto> regions = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(toDto(name, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        });
+        return regions;
+    }
+
+    private static CacheRegionStatsDto toDto(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return new CacheRegionStatsDto(region, hits, misses, puts, lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+}
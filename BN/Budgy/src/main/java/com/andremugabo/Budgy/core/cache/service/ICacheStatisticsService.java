@@ -0,0 +1,11 @@
+package com.andremugabo.Budgy.core.cache.service;
+
+import com.andremugabo.Budgy.core.cache.model.CacheRegionStatsDto;
+
+import java.util.List;
+
+public interface ICacheStatisticsService {
+
+    // Hit/miss/put counters of every second-level and query cache region since startup
+    List<CacheRegionStatsDto> getRegionStatistics();
+}
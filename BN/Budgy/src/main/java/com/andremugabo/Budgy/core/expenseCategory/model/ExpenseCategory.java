@@ -2,16 +2,24 @@ package com.andremugabo.Budgy.core.expenseCategory.model;
 
 import com.andremugabo.Budgy.core.base.AbstractBaseEntity;
 import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@SQLDelete(sql = "UPDATE expense_category SET active = false, updated_at = now() WHERE id = ?")
+@SQLRestriction("active = true")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "expense-categories")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +32,8 @@ public class ExpenseCategory extends AbstractBaseEntity {
     @Column(nullable = false, length = 50)
     private String icon;
 
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Expenses belong to their users; deleting a shared category must not delete them
+    @OneToMany(mappedBy = "category")
+    @JsonIgnore
     private List<Expense> expenses = new ArrayList<>();
 }
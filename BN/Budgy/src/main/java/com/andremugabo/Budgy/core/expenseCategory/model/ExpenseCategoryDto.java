@@ -0,0 +1,30 @@
+package com.andremugabo.Budgy.core.expenseCategory.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Category as listed to clients; the per-user count and sum are only present when a user was asked for.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExpenseCategoryDto {
+    private UUID id;
+    private String name;
+    private String icon;
+    private Long expenseCount;
+    private BigDecimal expenseTotal;
+
+    public ExpenseCategoryDto(UUID id, String name, String icon) {
+        this(id, name, icon, null, null);
+    }
+}
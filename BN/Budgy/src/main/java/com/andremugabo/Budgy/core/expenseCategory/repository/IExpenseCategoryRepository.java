@@ -1,14 +1,19 @@
 package com.andremugabo.Budgy.core.expenseCategory.repository;
 
 import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategory;
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategoryDto;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface IExpenseCategoryRepository extends JpaRepository<ExpenseCategory, UUID> {
 
     // Optional: find a category by its name
@@ -18,8 +23,15 @@ public interface IExpenseCategoryRepository extends JpaRepository<ExpenseCategor
     @Query("SELECT ec FROM ExpenseCategory ec LEFT JOIN FETCH ec.expenses WHERE ec.id = :id")
     Optional<ExpenseCategory> findByIdWithExpenses(@Param("id") UUID id);
 
+    // All categories without their expenses; served from the query cache until a category changes
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategoryDto(ec.id, ec.name, ec.icon) " +
+            "FROM ExpenseCategory ec ORDER BY ec.name")
+    List<ExpenseCategoryDto> findAllLean();
 
-    // Optional: fetch all categories with their expenses
-    @Query("SELECT ec FROM ExpenseCategory ec JOIN FETCH ec.expenses")
-    List<ExpenseCategory> findAllWithExpenses();
+    // All categories with the number and sum of one user's expenses in each, in a single GROUP BY
+    @Query("SELECT new com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategoryDto(ec.id, ec.name, ec.icon, COUNT(e.id), COALESCE(SUM(e.amount), 0)) " +
+            "FROM ExpenseCategory ec LEFT JOIN Expense e ON e.category = ec AND e.users.id = :userId " +
+            "GROUP BY ec.id, ec.name, ec.icon ORDER BY ec.name")
+    List<ExpenseCategoryDto> findAllWithUserTotals(@Param("userId") UUID userId);
 }
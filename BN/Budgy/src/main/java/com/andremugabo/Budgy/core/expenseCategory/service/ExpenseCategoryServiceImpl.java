@@ -1,6 +1,7 @@
 package com.andremugabo.Budgy.core.expenseCategory.service;
 
 import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategory;
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategoryDto;
 import com.andremugabo.Budgy.core.expenseCategory.repository.IExpenseCategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -39,8 +40,10 @@ public class ExpenseCategoryServiceImpl implements IExpenseCategoryService {
     }
 
     @Override
-    public List<ExpenseCategory> getAllCategories() {
-        return expenseCategoryRepository.findAll();
+    public List<ExpenseCategoryDto> getAllCategories(UUID userId) {
+        return userId == null
+                ? expenseCategoryRepository.findAllLean()
+                : expenseCategoryRepository.findAllWithUserTotals(userId);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.andremugabo.Budgy.core.expenseCategory.service;
 
 import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategory;
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategoryDto;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,8 +17,8 @@ public interface IExpenseCategoryService {
     // Delete a category by ID
     void deleteCategory(UUID id);
 
-    // Get all categories
-    List<ExpenseCategory> getAllCategories();
+    // Get all categories, with the user's expense count and sum per category when userId is given
+    List<ExpenseCategoryDto> getAllCategories(UUID userId);
 
     // Optional: Get a category by ID
     ExpenseCategory getCategoryById(UUID id);
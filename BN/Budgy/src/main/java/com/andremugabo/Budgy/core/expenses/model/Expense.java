@@ -7,10 +7,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import lombok.*;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 
 @Entity
+@SQLDelete(sql = "UPDATE expense SET active = false, updated_at = now(), version = version + 1 WHERE id = ? AND version = ?")
+@SQLRestriction("active = true")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,4 +34,6 @@ public class Expense extends AbstractBaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
     private Users users;
+    @Version
+    private Long version;
 }
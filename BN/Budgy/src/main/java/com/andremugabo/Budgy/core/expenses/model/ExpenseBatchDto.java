@@ -0,0 +1,24 @@
+package com.andremugabo.Budgy.core.expenses.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseBatchDto {
+    // Ignored unless the caller is an admin; batches otherwise belong to the token's user
+    private UUID userId;
+
+    @NotEmpty(message = "Items cannot be empty")
+    @Size(max = 5000, message = "At most 5000 items per batch")
+    private List<Expense> items;
+}
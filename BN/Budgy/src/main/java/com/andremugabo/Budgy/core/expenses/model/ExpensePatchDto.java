@@ -0,0 +1,27 @@
+package com.andremugabo.Budgy.core.expenses.model;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Fields left out (null) keep their stored value
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpensePatchDto {
+
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    @DecimalMin(value = "0.0", inclusive = true)
+    private BigDecimal amount;
+
+    private UUID categoryId;
+}
@@ -1,9 +1,21 @@
 package com.andremugabo.Budgy.core.expenses.repository;
 
 import com.andremugabo.Budgy.core.expenses.model.Expense;
+import jakarta.persistence.QueryHint;
+import com.andremugabo.Budgy.core.analytics.model.BucketTotalView;
+import com.andremugabo.Budgy.core.ledger.model.LedgerEntryView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface IExpenseRepository extends JpaRepository<Expense, UUID> {
 
@@ -12,4 +24,37 @@ public interface IExpenseRepository extends JpaRepository<Expense, UUID> {
     List<Expense> findByCategory_Id(UUID categoryId);
 
     List<Expense> findByUsers_IdAndCategory_Id(UUID userId, UUID categoryId);
+
+    // Keyset pages ordered newest first on (created_at, id)
+    @Query("SELECT e FROM Expense e ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findFirstPage(Pageable pageable);
+
+    @Query("SELECT e FROM Expense e WHERE (e.createdAt, e.id) < (:createdAt, :id) ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT e FROM Expense e WHERE e.users.id = :userId ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findFirstPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("SELECT e FROM Expense e WHERE e.users.id = :userId AND (e.createdAt, e.id) < (:createdAt, :id) ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id, Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.category WHERE e.users.id = :userId ORDER BY e.createdAt, e.id")
+    Stream<Expense> streamByUserId(@Param("userId") UUID userId);
+
+    // Just the columns the ledger cache keeps, in day order; same cursor rules as streamByUserId
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT e.amount AS amount, e.created_at AS createdAt, CAST(e.category_id AS varchar) AS groupKey " +
+            "FROM expense e WHERE e.user_id = :userId AND e.active ORDER BY e.created_at", nativeQuery = true)
+    Stream<LedgerEntryView> streamLedgerEntriesByUserId(@Param("userId") UUID userId);
+
+    // Totals per date_trunc bucket and category over [from, to); a range scan on the (user_id, created_at) index
+    @Query(value = "SELECT CAST(date_trunc(:unit, e.created_at) AS date) AS bucketStart, CAST(e.category_id AS varchar) AS groupKey, " +
+            "SUM(e.amount) AS total, COUNT(*) AS entryCount FROM expense e " +
+            "WHERE e.user_id = :userId AND e.created_at >= :from AND e.created_at < :to AND e.active " +
+            "GROUP BY 1, 2 ORDER BY 1, 2", nativeQuery = true)
+    List<BucketTotalView> sumByBucketAndCategory(@Param("userId") UUID userId, @Param("unit") String unit,
+                                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
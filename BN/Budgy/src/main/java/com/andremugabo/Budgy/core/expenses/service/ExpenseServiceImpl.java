@@ -1,12 +1,36 @@
 package com.andremugabo.Budgy.core.expenses.service;
 
+import com.andremugabo.Budgy.core.expenseCategory.model.ExpenseCategory;
+import com.andremugabo.Budgy.core.expenseCategory.repository.IExpenseCategoryRepository;
 import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.expenses.model.ExpensePatchDto;
 import com.andremugabo.Budgy.core.expenses.repository.IExpenseRepository;
+import com.andremugabo.Budgy.core.summary.service.ILedgerSummaryService;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.batch.BatchItemResult;
+import com.andremugabo.Budgy.core.util.batch.BatchResult;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
+import com.andremugabo.Budgy.core.util.patch.PatchUpdate;
+import com.andremugabo.Budgy.core.util.user.Ownership;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -14,46 +38,209 @@ import java.util.UUID;
 public class ExpenseServiceImpl implements IExpensesService {
 
     private final IExpenseRepository expenseRepository;
+    private final ILedgerSummaryService ledgerSummaryService;
+    private final IUserRepository userRepository;
+    private final IExpenseCategoryRepository expenseCategoryRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
 
     @Override
-    public Expense registerExpense(Expense theExpense) {
-        return expenseRepository.save(theExpense);
+    @Transactional
+    public Expense registerExpense(UUID userId, Expense theExpense) {
+        if (userId != null) {
+            theExpense.setUsers(userRepository.getReferenceById(userId));
+        }
+        Expense saved = expenseRepository.save(theExpense);
+        ledgerSummaryService.recordExpense(saved, 1);
+        return saved;
     }
 
     @Override
-    public Optional<Expense> updateExpense(Expense theExpense) {
-        if (expenseRepository.existsById(theExpense.getId())) {
-            return Optional.of(expenseRepository.save(theExpense));
+    @Transactional
+    public BatchResult registerExpenses(UUID userId, List<Expense> expenses) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with ID: " + userId);
+        }
+        Set<UUID> knownCategories = findKnownCategories(expenses);
+
+        List<BatchItemResult> results = new ArrayList<>(expenses.size());
+        List<Expense> accepted = new ArrayList<>(expenses.size());
+        Users owner = userRepository.getReferenceById(userId);
+        for (int i = 0; i < expenses.size(); i++) {
+            Expense expense = expenses.get(i);
+            List<String> errors = validate(expense, knownCategories);
+            if (!errors.isEmpty()) {
+                results.add(BatchItemResult.rejected(i, errors));
+                continue;
+            }
+            // Ids come from the in-process UUID generator at persist(); a client id would turn this into a merge
+            expense.setId(null);
+            expense.setUsers(owner);
+            if (expense.getCategory() != null) {
+                expense.setCategory(expenseCategoryRepository.getReferenceById(expense.getCategory().getId()));
+            }
+            entityManager.persist(expense);
+            accepted.add(expense);
+            results.add(BatchItemResult.created(i, expense.getId()));
+            if (accepted.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        ledgerSummaryService.recordExpenses(accepted);
+        return new BatchResult(results);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Expense> updateExpense(Expense theExpense, UUID ownerId) {
+        Optional<Expense> existing = expenseRepository.findById(theExpense.getId())
+                .filter(expense -> Ownership.permits(ownerId, expense.getUsers()));
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        ledgerSummaryService.recordExpense(existing.get(), -1);
+        if (theExpense.getCreatedAt() == null) {
+            theExpense.setCreatedAt(existing.get().getCreatedAt());
         }
-        return Optional.empty();
+        if (theExpense.getUsers() == null) {
+            theExpense.setUsers(existing.get().getUsers());
+        }
+        // Clients that do not send the version they read overwrite whatever is stored, as before
+        if (theExpense.getVersion() == null) {
+            theExpense.setVersion(existing.get().getVersion());
+        }
+        Expense saved = expenseRepository.save(theExpense);
+        ledgerSummaryService.recordExpense(saved, 1);
+        return Optional.of(saved);
     }
 
     @Override
-    public boolean deleteExpense(UUID id) {
-        if (expenseRepository.existsById(id)) {
-            expenseRepository.deleteById(id);
-            return true;
+    @Transactional
+    public Optional<Expense> patchExpense(UUID id, ExpensePatchDto patch, UUID ownerId) {
+        if (patch.getCategoryId() != null && !expenseCategoryRepository.existsById(patch.getCategoryId())) {
+            throw new IllegalArgumentException("Expense category not found with ID: " + patch.getCategoryId());
+        }
+        PatchUpdate update = new PatchUpdate("expense")
+                .ownedBy(ownerId)
+                .set("amount", patch.getAmount())
+                .set("category_id", patch.getCategoryId());
+        // Both patchable fields move the summary bucket, so the update hands back the old and the new ones
+        Optional<ExpenseChange> change = update.applyReturning(jdbcTemplate, id, patch.getVersion(), "amount, category_id",
+                "previous.amount AS previous_amount, previous.category_id AS previous_category_id, "
+                        + "expense.amount, expense.category_id, expense.user_id, expense.created_at",
+                (rs, rowNum) -> new ExpenseChange(
+                        summaryEntry(rs.getBigDecimal("previous_amount"), rs.getObject("previous_category_id", UUID.class), rs),
+                        summaryEntry(rs.getBigDecimal("amount"), rs.getObject("category_id", UUID.class), rs)));
+        if (change.isEmpty()) {
+            return Optional.empty();
         }
-        return false;
+        ledgerSummaryService.recordExpense(change.get().previous(), -1);
+        ledgerSummaryService.recordExpense(change.get().current(), 1);
+        return expenseRepository.findById(id);
+    }
+
+    // Just the fields the monthly summary is keyed and summed on
+    private Expense summaryEntry(BigDecimal amount, UUID categoryId, ResultSet rs) throws SQLException {
+        Expense expense = new Expense();
+        expense.setAmount(amount);
+        if (categoryId != null) {
+            // Not a reference: a proxy would end up in the response, which loads the expense from this context
+            ExpenseCategory category = new ExpenseCategory();
+            category.setId(categoryId);
+            expense.setCategory(category);
+        }
+        expense.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        expense.setUsers(userRepository.getReferenceById(rs.getObject("user_id", UUID.class)));
+        return expense;
     }
 
     @Override
+    @Transactional
+    public boolean deleteExpense(UUID id, UUID ownerId) {
+        Optional<Expense> existing = expenseRepository.findById(id)
+                .filter(expense -> Ownership.permits(ownerId, expense.getUsers()));
+        if (existing.isEmpty()) {
+            return false;
+        }
+        ledgerSummaryService.recordExpense(existing.get(), -1);
+        expenseRepository.delete(existing.get());
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Expense> getAllExpenses() {
         return expenseRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByUserId(UUID userId) {
         return expenseRepository.findByUsers_Id(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByCategoryId(UUID categoryId) {
         return expenseRepository.findByCategory_Id(categoryId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByUserIdAndCategoryId(UUID userId, UUID categoryId) {
         return expenseRepository.findByUsers_IdAndCategory_Id(userId, categoryId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Expense> getExpensePage(String after, int limit) {
+        return CursorPage.fetch(after, limit, expenseRepository::findFirstPage, expenseRepository::findPageAfter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Expense> getExpensePageByUserId(UUID userId, String after, int limit) {
+        return CursorPage.fetch(after, limit,
+                pageable -> expenseRepository.findFirstPageByUserId(userId, pageable),
+                (createdAt, id, pageable) -> expenseRepository.findPageByUserIdAfter(userId, createdAt, id, pageable));
+    }
+
+    private Set<UUID> findKnownCategories(List<Expense> expenses) {
+        List<UUID> requested = expenses.stream()
+                .filter(Objects::nonNull)
+                .map(Expense::getCategory)
+                .filter(category -> category != null && category.getId() != null)
+                .map(ExpenseCategory::getId)
+                .distinct()
+                .toList();
+        Set<UUID> known = new HashSet<>();
+        expenseCategoryRepository.findAllById(requested).forEach(category -> known.add(category.getId()));
+        return known;
+    }
+
+    private List<String> validate(Expense expense, Set<UUID> knownCategories) {
+        List<String> errors = new ArrayList<>();
+        if (expense == null) {
+            errors.add("Expense cannot be null");
+            return errors;
+        }
+        if (expense.getAmount() == null) {
+            errors.add("amount: cannot be null");
+        }
+        for (ConstraintViolation<Expense> violation : validator.validate(expense)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (expense.getCategory() != null && !knownCategories.contains(expense.getCategory().getId())) {
+            errors.add("category: not found");
+        }
+        return errors;
+    }
+
+    private record ExpenseChange(Expense previous, Expense current) {
+    }
 }
@@ -1,6 +1,9 @@
 package com.andremugabo.Budgy.core.expenses.service;
 
 import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.expenses.model.ExpensePatchDto;
+import com.andremugabo.Budgy.core.util.batch.BatchResult;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -8,11 +11,15 @@ import java.util.UUID;
 
 public interface IExpensesService {
 
-    Expense registerExpense(Expense expense);
+    Expense registerExpense(UUID userId, Expense expense);
 
-    Optional<Expense> updateExpense(Expense expense);
+    BatchResult registerExpenses(UUID userId, List<Expense> expenses);
 
-    boolean deleteExpense(UUID id);
+    Optional<Expense> updateExpense(Expense expense, UUID ownerId);
+
+    Optional<Expense> patchExpense(UUID id, ExpensePatchDto patch, UUID ownerId);
+
+    boolean deleteExpense(UUID id, UUID ownerId);
 
     List<Expense> getAllExpenses();
 
@@ -21,4 +28,8 @@ public interface IExpensesService {
     List<Expense> getExpensesByCategoryId(UUID categoryId);
 
     List<Expense> getExpensesByUserIdAndCategoryId(UUID userId, UUID categoryId);
+
+    CursorPage<Expense> getExpensePage(String after, int limit);
+
+    CursorPage<Expense> getExpensePageByUserId(UUID userId, String after, int limit);
 }
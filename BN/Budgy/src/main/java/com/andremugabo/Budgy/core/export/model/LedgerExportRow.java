@@ -0,0 +1,40 @@
+package com.andremugabo.Budgy.core.export.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat, format-neutral view of one ledger record (income, expense, savings or alert).
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"recordType", "id", "createdAt", "amount", "name", "type", "description",
+        "targetAmount", "targetDate", "read"})
+public class LedgerExportRow {
+
+    public static final String[] CSV_HEADER = {"record_type", "id", "created_at", "amount", "name", "type",
+            "description", "target_amount", "target_date", "is_read"};
+
+    private final String recordType;
+    private final UUID id;
+    private final LocalDateTime createdAt;
+    private final BigDecimal amount;
+    private final String name;
+    private final String type;
+    private final String description;
+    private final BigDecimal targetAmount;
+    private final LocalDate targetDate;
+    private final Boolean read;
+
+    public Object[] toCsvValues() {
+        return new Object[]{recordType, id, createdAt, amount, name, type, description, targetAmount, targetDate, read};
+    }
+}
@@ -0,0 +1,13 @@
+package com.andremugabo.Budgy.core.export.service;
+
+import com.andremugabo.Budgy.core.util.export.EExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface ILedgerExportService {
+
+    // Write every income, expense, savings goal and alert of a user to the stream, one record at a time
+    void exportLedger(UUID userId, EExportFormat format, OutputStream out) throws IOException;
+}
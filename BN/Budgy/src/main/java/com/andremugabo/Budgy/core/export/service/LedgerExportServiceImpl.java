@@ -0,0 +1,193 @@
+package com.andremugabo.Budgy.core.export.service;
+
+import com.andremugabo.Budgy.core.alert.model.Alert;
+import com.andremugabo.Budgy.core.alert.repository.IAlertRepository;
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.expenses.repository.IExpenseRepository;
+import com.andremugabo.Budgy.core.export.model.LedgerExportRow;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.income.repository.IIncomeRepository;
+import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.savings.repository.ISavingRepository;
+import com.andremugabo.Budgy.core.util.export.EExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerExportServiceImpl implements ILedgerExportService {
+
+    private final IIncomeRepository incomeRepository;
+    private final IExpenseRepository expenseRepository;
+    private final ISavingRepository savingRepository;
+    private final IAlertRepository alertRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportLedger(UUID userId, EExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowSink sink = format == EExportFormat.CSV ? new CsvSink(writer) : new NdjsonSink(objectMapper, writer);
+        try {
+            drain(incomeRepository.streamByUserId(userId), this::toRow, sink);
+            drain(expenseRepository.streamByUserId(userId), this::toRow, sink);
+            drain(savingRepository.streamByUserId(userId), this::toRow, sink);
+            drain(alertRepository.streamByUserId(userId), this::toRow, sink);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sink.close();
+    }
+
+    // Each entity is detached once written so the persistence context does not grow with the ledger
+    private <T> void drain(Stream<T> stream, Function<T, LedgerExportRow> mapper, RowSink sink) {
+        try (stream) {
+            stream.forEach(entity -> {
+                sink.write(mapper.apply(entity));
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    private LedgerExportRow toRow(Income income) {
+        return LedgerExportRow.builder()
+                .recordType("INCOME")
+                .id(income.getId())
+                .createdAt(income.getCreatedAt())
+                .amount(income.getAmount())
+                .name(income.getSource())
+                .type(income.getIncomeType() == null ? null : income.getIncomeType().name())
+                .description(income.getDescription())
+                .build();
+    }
+
+    private LedgerExportRow toRow(Expense expense) {
+        return LedgerExportRow.builder()
+                .recordType("EXPENSE")
+                .id(expense.getId())
+                .createdAt(expense.getCreatedAt())
+                .amount(expense.getAmount())
+                .type(expense.getCategory() == null ? null : expense.getCategory().getName())
+                .build();
+    }
+
+    private LedgerExportRow toRow(Savings savings) {
+        return LedgerExportRow.builder()
+                .recordType("SAVINGS")
+                .id(savings.getId())
+                .createdAt(savings.getCreatedAt())
+                .amount(savings.getCurrentAmount())
+                .name(savings.getName())
+                .type(savings.getPriority() == null ? null : savings.getPriority().name())
+                .description(savings.getDescription())
+                .targetAmount(savings.getTargetAmount())
+                .targetDate(savings.getTargetDate())
+                .build();
+    }
+
+    private LedgerExportRow toRow(Alert alert) {
+        return LedgerExportRow.builder()
+                .recordType("ALERT")
+                .id(alert.getId())
+                .createdAt(alert.getCreatedAt())
+                .name(alert.getTitle())
+                .type(alert.getAlert() == null ? null : alert.getAlert().name())
+                .description(alert.getMessage())
+                .read(alert.getIsRead())
+                .build();
+    }
+
+    private interface RowSink {
+        void write(LedgerExportRow row);
+
+        void close() throws IOException;
+    }
+
+    private static final class NdjsonSink implements RowSink {
+        private final Writer writer;
+        private final SequenceWriter sequence;
+        private boolean empty = true;
+
+        NdjsonSink(ObjectMapper objectMapper, Writer writer) throws IOException {
+            this.writer = writer;
+            this.sequence = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        }
+
+        @Override
+        public void write(LedgerExportRow row) {
+            try {
+                sequence.write(row);
+                empty = false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            sequence.flush();
+            if (!empty) {
+                writer.write('\n');
+            }
+            writer.flush();
+        }
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final Writer writer;
+
+        CsvSink(Writer writer) throws IOException {
+            this.writer = writer;
+            writeLine(LedgerExportRow.CSV_HEADER);
+        }
+
+        @Override
+        public void write(LedgerExportRow row) {
+            try {
+                writeLine(row.toCsvValues());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write('\n');
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -11,10 +11,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 
 @Entity
+@SQLDelete(sql = "UPDATE income SET active = false, updated_at = now(), version = version + 1 WHERE id = ? AND version = ?")
+@SQLRestriction("active = true")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Income extends AbstractBaseEntity {
 
@@ -32,6 +36,8 @@ public class Income extends AbstractBaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
     private Users users;
+    @Version
+    private Long version;
 
 
 }
@@ -0,0 +1,31 @@
+package com.andremugabo.Budgy.core.income.model;
+
+import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+// Fields left out (null) keep their stored value
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncomePatchDto {
+
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    private String source;
+
+    private EIncomeType incomeType;
+
+    private String description;
+}
@@ -0,0 +1,27 @@
+package com.andremugabo.Budgy.core.income.model;
+
+import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Published when a single income is registered. Carries values rather than the entity,
+ * so after-commit listeners never touch a closed persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class IncomeRegisteredEvent {
+
+    private final UUID incomeId;
+
+    private final UUID userId;
+
+    private final BigDecimal amount;
+
+    private final String source;
+
+    private final EIncomeType incomeType;
+}
@@ -2,14 +2,22 @@ package com.andremugabo.Budgy.core.income.repository;
 
 import com.andremugabo.Budgy.core.income.model.Income;
 import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import jakarta.persistence.QueryHint;
+import com.andremugabo.Budgy.core.analytics.model.BucketTotalView;
+import com.andremugabo.Budgy.core.ledger.model.LedgerEntryView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface IIncomeRepository extends JpaRepository<Income, UUID> {
 
@@ -23,4 +31,37 @@ public interface IIncomeRepository extends JpaRepository<Income, UUID> {
     BigDecimal getTotalIncomeByUserId(@Param("userId") UUID userId);
 
     List<Income> findByUsersIdAndCreatedAtBetween(UUID userId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Keyset pages ordered newest first on (created_at, id)
+    @Query("SELECT i FROM Income i ORDER BY i.createdAt DESC, i.id DESC")
+    List<Income> findFirstPage(Pageable pageable);
+
+    @Query("SELECT i FROM Income i WHERE (i.createdAt, i.id) < (:createdAt, :id) ORDER BY i.createdAt DESC, i.id DESC")
+    List<Income> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT i FROM Income i WHERE i.users.id = :userId ORDER BY i.createdAt DESC, i.id DESC")
+    List<Income> findFirstPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("SELECT i FROM Income i WHERE i.users.id = :userId AND (i.createdAt, i.id) < (:createdAt, :id) ORDER BY i.createdAt DESC, i.id DESC")
+    List<Income> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id, Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i FROM Income i WHERE i.users.id = :userId ORDER BY i.createdAt, i.id")
+    Stream<Income> streamByUserId(@Param("userId") UUID userId);
+
+    // Just the columns the ledger cache keeps, in day order; same cursor rules as streamByUserId
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT i.amount AS amount, i.created_at AS createdAt, i.income_type AS groupKey FROM income i " +
+            "WHERE i.user_id = :userId AND i.active ORDER BY i.created_at", nativeQuery = true)
+    Stream<LedgerEntryView> streamLedgerEntriesByUserId(@Param("userId") UUID userId);
+
+    // Totals per date_trunc bucket and income type over [from, to); a range scan on the (user_id, created_at) index
+    @Query(value = "SELECT CAST(date_trunc(:unit, i.created_at) AS date) AS bucketStart, i.income_type AS groupKey, " +
+            "SUM(i.amount) AS total, COUNT(*) AS entryCount FROM income i " +
+            "WHERE i.user_id = :userId AND i.created_at >= :from AND i.created_at < :to AND i.active " +
+            "GROUP BY 1, 2 ORDER BY 1, 2", nativeQuery = true)
+    List<BucketTotalView> sumByBucketAndType(@Param("userId") UUID userId, @Param("unit") String unit,
+                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
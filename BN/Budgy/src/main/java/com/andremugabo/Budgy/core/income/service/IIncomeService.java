@@ -1,7 +1,10 @@
 package com.andremugabo.Budgy.core.income.service;
 
 import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.income.model.IncomePatchDto;
+import com.andremugabo.Budgy.core.util.batch.BatchResult;
 import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,13 +12,16 @@ import java.util.List;
 import java.util.UUID;
 
 public interface IIncomeService {
-    Income registerIncome(Income theIncome);
-    Income updateIncome(Income theIncome);
-    Income deleteIncome(UUID id);
+    Income registerIncome(UUID userId, Income theIncome);
+    BatchResult registerIncomes(UUID userId, List<Income> incomes);
+    Income updateIncome(Income theIncome, UUID ownerId);
+    Income patchIncome(UUID id, IncomePatchDto patch, UUID ownerId);
+    Income deleteIncome(UUID id, UUID ownerId);
     List<Income> getAllIncome();
     List<Income> getIncomeByUser(UUID userId);
     List<Income> getIncomeByUserAndType(UUID userId, EIncomeType type);
     BigDecimal getTotalIncomeByUser(UUID userId);
     List<Income> getIncomeByUserWithinPeriod(UUID userId, LocalDateTime start, LocalDateTime end);
-
+    CursorPage<Income> getIncomePage(String after, int limit);
+    CursorPage<Income> getIncomePageByUser(UUID userId, String after, int limit);
 }
@@ -1,13 +1,33 @@
 package com.andremugabo.Budgy.core.income.service;
 
 import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.income.model.IncomePatchDto;
+import com.andremugabo.Budgy.core.income.model.IncomeRegisteredEvent;
 import com.andremugabo.Budgy.core.income.repository.IIncomeRepository;
+import com.andremugabo.Budgy.core.summary.service.ILedgerSummaryService;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.batch.BatchItemResult;
+import com.andremugabo.Budgy.core.util.batch.BatchResult;
 import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
+import com.andremugabo.Budgy.core.util.patch.PatchUpdate;
+import com.andremugabo.Budgy.core.util.user.Ownership;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,56 +35,218 @@ import java.util.UUID;
 public class IncomeService implements IIncomeService {
 
     private final IIncomeRepository incomeRepository;
+    private final ILedgerSummaryService ledgerSummaryService;
+    private final IUserRepository userRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
-    public IncomeService(IIncomeRepository incomeRepository) {
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    public IncomeService(IIncomeRepository incomeRepository, ILedgerSummaryService ledgerSummaryService,
+                         IUserRepository userRepository, EntityManager entityManager, Validator validator,
+                         ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate) {
         this.incomeRepository = incomeRepository;
+        this.ledgerSummaryService = ledgerSummaryService;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
-    public Income registerIncome(Income theIncome) {
-        // Save new income
-        return incomeRepository.save(theIncome);
+    @Transactional
+    public Income registerIncome(UUID userId, Income theIncome) {
+        if (userId != null) {
+            theIncome.setUsers(userRepository.getReferenceById(userId));
+        }
+        // Save new income and add it to the monthly summary
+        Income saved = incomeRepository.save(theIncome);
+        ledgerSummaryService.recordIncome(saved, 1);
+        // Seen by the alert rules once the transaction commits; bulk imports below do not alert
+        if (saved.getUsers() != null) {
+            eventPublisher.publishEvent(new IncomeRegisteredEvent(saved.getId(), saved.getUsers().getId(),
+                    saved.getAmount(), saved.getSource(), saved.getIncomeType()));
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public BatchResult registerIncomes(UUID userId, List<Income> incomes) {
+        // Ensure the owner exists once for the whole batch
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with ID: " + userId);
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(incomes.size());
+        List<Income> accepted = new ArrayList<>(incomes.size());
+        Users owner = userRepository.getReferenceById(userId);
+        for (int i = 0; i < incomes.size(); i++) {
+            Income income = incomes.get(i);
+            List<String> errors = validate(income);
+            if (!errors.isEmpty()) {
+                results.add(BatchItemResult.rejected(i, errors));
+                continue;
+            }
+            // Ids come from the in-process UUID generator at persist(); a client id would turn this into a merge
+            income.setId(null);
+            income.setUsers(owner);
+            entityManager.persist(income);
+            accepted.add(income);
+            results.add(BatchItemResult.created(i, income.getId()));
+            // Hand full JDBC batches to the driver and keep the persistence context small
+            if (accepted.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        ledgerSummaryService.recordIncomes(accepted);
+        return new BatchResult(results);
     }
 
     @Override
-    public Income updateIncome(Income theIncome) {
-        // Ensure the income exists
-        if (!incomeRepository.existsById(theIncome.getId())) {
-            throw new EntityNotFoundException("Income not found with id: " + theIncome.getId());
+    @Transactional
+    public Income updateIncome(Income theIncome, UUID ownerId) {
+        // Ensure the income exists; its stored values are moved out of the summary before the merge
+        Income existing = incomeRepository.findById(theIncome.getId())
+                .filter(income -> Ownership.permits(ownerId, income.getUsers()))
+                .orElseThrow(() -> new EntityNotFoundException("Income not found with id: " + theIncome.getId()));
+        ledgerSummaryService.recordIncome(existing, -1);
+        if (theIncome.getCreatedAt() == null) {
+            theIncome.setCreatedAt(existing.getCreatedAt());
         }
-        return incomeRepository.save(theIncome);
+        if (theIncome.getUsers() == null) {
+            theIncome.setUsers(existing.getUsers());
+        }
+        // Clients that do not send the version they read overwrite whatever is stored, as before
+        if (theIncome.getVersion() == null) {
+            theIncome.setVersion(existing.getVersion());
+        }
+        Income saved = incomeRepository.save(theIncome);
+        ledgerSummaryService.recordIncome(saved, 1);
+        return saved;
     }
 
     @Override
-    public Income deleteIncome(UUID id) {
+    @Transactional
+    public Income patchIncome(UUID id, IncomePatchDto patch, UUID ownerId) {
+        PatchUpdate update = new PatchUpdate("income")
+                .ownedBy(ownerId)
+                .set("amount", patch.getAmount())
+                .set("source", patch.getSource())
+                .set("income_type", patch.getIncomeType())
+                .set("description", patch.getDescription());
+        if (update.changes("amount") || update.changes("income_type")) {
+            // The summary bucket follows amount and type; the update hands back both the old and the new ones
+            IncomeChange change = update.applyReturning(jdbcTemplate, id, patch.getVersion(), "amount, income_type",
+                            "previous.amount AS previous_amount, previous.income_type AS previous_income_type, "
+                                    + "income.amount, income.income_type, income.user_id, income.created_at",
+                            (rs, rowNum) -> new IncomeChange(
+                                    summaryEntry(rs.getBigDecimal("previous_amount"), rs.getString("previous_income_type"), rs),
+                                    summaryEntry(rs.getBigDecimal("amount"), rs.getString("income_type"), rs)))
+                    .orElseThrow(() -> new EntityNotFoundException("Income not found with id: " + id));
+            ledgerSummaryService.recordIncome(change.previous(), -1);
+            ledgerSummaryService.recordIncome(change.current(), 1);
+        } else if (!update.apply(jdbcTemplate, id, patch.getVersion())) {
+            throw new EntityNotFoundException("Income not found with id: " + id);
+        }
+        return incomeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Income not found with id: " + id));
+    }
+
+    // Just the fields the monthly summary is keyed and summed on
+    private Income summaryEntry(BigDecimal amount, String incomeType, ResultSet rs) throws SQLException {
+        Income income = new Income();
+        income.setAmount(amount);
+        income.setIncomeType(EIncomeType.valueOf(incomeType));
+        income.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        income.setUsers(userRepository.getReferenceById(rs.getObject("user_id", UUID.class)));
+        return income;
+    }
+
+    @Override
+    @Transactional
+    public Income deleteIncome(UUID id, UUID ownerId) {
         Income income = incomeRepository.findById(id)
+                .filter(found -> Ownership.permits(ownerId, found.getUsers()))
                 .orElseThrow(() -> new EntityNotFoundException("Income not found with id: " + id));
+        ledgerSummaryService.recordIncome(income, -1);
         incomeRepository.delete(income);
         return income;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Income> getAllIncome() {
         return incomeRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Income> getIncomeByUser(UUID userId) {
         return incomeRepository.findByUsersId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Income> getIncomeByUserAndType(UUID userId, EIncomeType type) {
         return incomeRepository.findByUsersIdAndIncomeType(userId, type);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal getTotalIncomeByUser(UUID userId) {
-        return incomeRepository.getTotalIncomeByUserId(userId);
+        return ledgerSummaryService.getTotalIncomeByUser(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Income> getIncomeByUserWithinPeriod(UUID userId, LocalDateTime start, LocalDateTime end) {
         return incomeRepository.findByUsersIdAndCreatedAtBetween(userId, start, end);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Income> getIncomePage(String after, int limit) {
+        return CursorPage.fetch(after, limit, incomeRepository::findFirstPage, incomeRepository::findPageAfter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Income> getIncomePageByUser(UUID userId, String after, int limit) {
+        return CursorPage.fetch(after, limit,
+                pageable -> incomeRepository.findFirstPageByUserId(userId, pageable),
+                (createdAt, id, pageable) -> incomeRepository.findPageByUserIdAfter(userId, createdAt, id, pageable));
+    }
+
+    private List<String> validate(Income income) {
+        List<String> errors = new ArrayList<>();
+        if (income == null) {
+            errors.add("Income cannot be null");
+            return errors;
+        }
+        if (income.getAmount() == null) {
+            errors.add("amount: cannot be null");
+        }
+        if (income.getSource() == null) {
+            errors.add("source: cannot be null");
+        }
+        if (income.getIncomeType() == null) {
+            errors.add("incomeType: cannot be null");
+        }
+        if (income.getDescription() == null) {
+            errors.add("description: cannot be null");
+        }
+        for (ConstraintViolation<Income> violation : validator.validate(income)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private record IncomeChange(Income previous, Income current) {
+    }
 }
@@ -0,0 +1,188 @@
+package com.andremugabo.Budgy.core.ledger.model;
+
+import com.andremugabo.Budgy.core.util.analytics.EAnalyticsBucket;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's incomes or expenses as parallel primitive columns, sorted by day: amounts in cents,
+ * epoch days, and ordinals into {@link #groupKeys()} (category id or income type, null for none).
+ * Immutable once built. The aggregations below read the arrays directly and allocate nothing per row.
+ */
+public final class LedgerColumns {
+
+    // Array headers, the group keys and the object itself, roughly
+    private static final long FIXED_BYTES = 128;
+    private static final long BYTES_PER_ROW = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final long BYTES_PER_GROUP = 96;
+
+    private final long[] amounts;
+    private final int[] days;
+    private final int[] groups;
+    private final String[] groupKeys;
+
+    private LedgerColumns(long[] amounts, int[] days, int[] groups, String[] groupKeys) {
+        this.amounts = amounts;
+        this.days = days;
+        this.groups = groups;
+        this.groupKeys = groupKeys;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return amounts.length;
+    }
+
+    // Sorted like the analytics SQL orders its groups: ascending, no group last
+    public String[] groupKeys() {
+        return groupKeys.clone();
+    }
+
+    public int groupCount() {
+        return groupKeys.length;
+    }
+
+    public long estimatedBytes() {
+        return FIXED_BYTES + BYTES_PER_ROW * amounts.length + BYTES_PER_GROUP * groupKeys.length;
+    }
+
+    public long total() {
+        long total = 0;
+        for (long amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    // Sum over the inclusive day range
+    public long sum(int fromDay, int toDay) {
+        long total = 0;
+        for (int row = firstRowOn(fromDay); row < amounts.length && days[row] <= toDay; row++) {
+            total += amounts[row];
+        }
+        return total;
+    }
+
+    // Adds each group's sum over the inclusive day range into totals, indexed by group ordinal
+    public void sumByGroup(int fromDay, int toDay, long[] totals) {
+        for (int row = firstRowOn(fromDay); row < amounts.length && days[row] <= toDay; row++) {
+            totals[groups[row]] += amounts[row];
+        }
+    }
+
+    /**
+     * Walks the inclusive day range bucket by bucket, oldest first, handing each bucket that has entries to
+     * the consumer with per-group sums and counts. Rows are sorted by day, so a bucket is a contiguous run
+     * and the two scratch arrays (one slot per group) are reused for every bucket.
+     */
+    public void forEachBucket(int fromDay, int toDay, EAnalyticsBucket unit, BucketConsumer consumer) {
+        long[] sums = new long[groupKeys.length];
+        long[] counts = new long[groupKeys.length];
+        int row = firstRowOn(fromDay);
+        while (row < amounts.length && days[row] <= toDay) {
+            int bucket = unit.bucketOf(days[row]);
+            Arrays.fill(sums, 0);
+            Arrays.fill(counts, 0);
+            do {
+                sums[groups[row]] += amounts[row];
+                counts[groups[row]]++;
+                row++;
+            } while (row < amounts.length && days[row] <= toDay && unit.bucketOf(days[row]) == bucket);
+            consumer.accept(bucket, sums, counts);
+        }
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Lower bound: the first row dated on or after the day
+    private int firstRowOn(int day) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        // The arrays are only valid during the call
+        void accept(int bucket, long[] sums, long[] counts);
+    }
+
+    /**
+     * Collects rows in day order. Amounts must have at most two decimals, and the absolute sum of the series
+     * must fit in a long so that no aggregate can overflow; {@link ArithmeticException} otherwise.
+     */
+    public static final class Builder {
+
+        private long[] amounts = new long[64];
+        private int[] days = new int[64];
+        private int[] groups = new int[64];
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private int size;
+        private long absoluteSum;
+        private int lastDay = Integer.MIN_VALUE;
+
+        private Builder() {
+        }
+
+        public Builder add(BigDecimal amount, long epochDay, String groupKey) {
+            return add(amount.movePointRight(2).longValueExact(), Math.toIntExact(epochDay), groupKey);
+        }
+
+        public Builder add(long cents, int epochDay, String groupKey) {
+            if (epochDay < lastDay) {
+                throw new IllegalArgumentException("Rows must be added in day order");
+            }
+            absoluteSum = Math.addExact(absoluteSum, Math.absExact(cents));
+            if (size == amounts.length) {
+                int capacity = size * 2;
+                amounts = Arrays.copyOf(amounts, capacity);
+                days = Arrays.copyOf(days, capacity);
+                groups = Arrays.copyOf(groups, capacity);
+            }
+            amounts[size] = cents;
+            days[size] = epochDay;
+            groups[size] = ordinals.computeIfAbsent(groupKey, key -> {
+                keys.add(key);
+                return keys.size() - 1;
+            });
+            lastDay = epochDay;
+            size++;
+            return this;
+        }
+
+        public LedgerColumns build() {
+            // Renumber the groups into output order, so consumers can walk the ordinals as they are
+            String[] sortedKeys = keys.toArray(String[]::new);
+            Arrays.sort(sortedKeys, Comparator.nullsLast(Comparator.naturalOrder()));
+            int[] renumbered = new int[sortedKeys.length];
+            for (int ordinal = 0; ordinal < sortedKeys.length; ordinal++) {
+                renumbered[ordinals.get(sortedKeys[ordinal])] = ordinal;
+            }
+            int[] sortedGroups = new int[size];
+            for (int row = 0; row < size; row++) {
+                sortedGroups[row] = renumbered[groups[row]];
+            }
+            return new LedgerColumns(Arrays.copyOf(amounts, size), Arrays.copyOf(days, size), sortedGroups, sortedKeys);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.andremugabo.Budgy.core.ledger.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The three columns the ledger cache keeps of an income or expense: amount, date and the key it is
+ * broken down by (income type or category id).
+ */
+public interface LedgerEntryView {
+
+    BigDecimal getAmount();
+
+    LocalDateTime getCreatedAt();
+
+    String getGroupKey();
+}
@@ -0,0 +1,11 @@
+package com.andremugabo.Budgy.core.ledger.model;
+
+/**
+ * A user's cached incomes and expenses, as of the ledger version they were read at.
+ */
+public record UserLedger(long version, LedgerColumns income, LedgerColumns expenses) {
+
+    public long estimatedBytes() {
+        return income.estimatedBytes() + expenses.estimatedBytes();
+    }
+}
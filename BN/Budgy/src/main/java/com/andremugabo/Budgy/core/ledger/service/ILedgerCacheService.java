@@ -0,0 +1,12 @@
+package com.andremugabo.Budgy.core.ledger.service;
+
+import com.andremugabo.Budgy.core.ledger.model.UserLedger;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ILedgerCacheService {
+
+    // The user's active incomes and expenses at their current ledger version, read on a miss; empty if they cannot be held in cents
+    Optional<UserLedger> getLedger(UUID userId);
+}
@@ -0,0 +1,19 @@
+package com.andremugabo.Budgy.core.ledger.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface ILedgerVersionService {
+
+    // Current version of the user's incomes, expenses, savings and alerts; 0 if none was ever written
+    long getVersion(UUID userId);
+
+    // 304 when the request's If-None-Match still matches the user's ledger version, otherwise 200 with read's result and the new ETag
+    <T> ResponseEntity<T> getIfModified(UUID userId, WebRequest request, Supplier<T> read);
+
+    // Moves every user to a new version, for changes that bypass the ledger triggers (e.g. archiving partitions)
+    void bumpAll();
+}
@@ -0,0 +1,97 @@
+package com.andremugabo.Budgy.core.ledger.service;
+
+import com.andremugabo.Budgy.core.expenses.repository.IExpenseRepository;
+import com.andremugabo.Budgy.core.income.repository.IIncomeRepository;
+import com.andremugabo.Budgy.core.ledger.model.LedgerColumns;
+import com.andremugabo.Budgy.core.ledger.model.LedgerEntryView;
+import com.andremugabo.Budgy.core.ledger.model.UserLedger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the incomes and expenses of recently active users in memory as {@link LedgerColumns}, up to a
+ * total of max-memory (by estimated size; the least recently used ledgers go first). Every write to a
+ * user's ledger, on any instance and through any path, bumps their V5 ledger version, so a cached ledger
+ * is used only while its version is still current and is otherwise read again on the next request.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "budgy.ledger-cache.enabled", havingValue = "true")
+public class LedgerCacheServiceImpl implements ILedgerCacheService {
+
+    private final IIncomeRepository incomeRepository;
+    private final IExpenseRepository expenseRepository;
+    private final ILedgerVersionService ledgerVersionService;
+    private final Cache<UUID, UserLedger> ledgers;
+    private final Counter staleReads;
+
+    public LedgerCacheServiceImpl(IIncomeRepository incomeRepository,
+                                  IExpenseRepository expenseRepository,
+                                  ILedgerVersionService ledgerVersionService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${budgy.ledger-cache.max-memory:64MB}") DataSize maxMemory) {
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.ledgerVersionService = ledgerVersionService;
+        this.ledgers = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((UUID userId, UserLedger ledger) -> (int) Math.min(Integer.MAX_VALUE, ledger.estimatedBytes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ledgers, "budgy.ledger-cache");
+        // Caffeine counts these as hits
+        this.staleReads = Counter.builder("budgy.ledger-cache.stale")
+                .description("Cached ledgers found behind the user's ledger version and read again")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserLedger> getLedger(UUID userId) {
+        // Read before the rows, so a ledger is never older than the version it is stored under
+        long version = ledgerVersionService.getVersion(userId);
+        UserLedger cached = ledgers.getIfPresent(userId);
+        if (cached != null && cached.version() == version) {
+            return Optional.of(cached);
+        }
+        if (cached != null) {
+            staleReads.increment();
+        }
+
+        UserLedger loaded;
+        try {
+            loaded = new UserLedger(version, toColumns(incomeRepository.streamLedgerEntriesByUserId(userId)),
+                    toColumns(expenseRepository.streamLedgerEntriesByUserId(userId)));
+        } catch (ArithmeticException e) {
+            // Amounts beyond what a long holds in cents; the caller falls back to SQL
+            log.warn("Ledger of user {} cannot be cached: {}", userId, e.getMessage());
+            ledgers.invalidate(userId);
+            return Optional.empty();
+        }
+        ledgers.put(userId, loaded);
+        return Optional.of(loaded);
+    }
+
+    // Consumes and closes the cursor
+    private static LedgerColumns toColumns(Stream<LedgerEntryView> entries) {
+        LedgerColumns.Builder columns = LedgerColumns.builder();
+        try (entries) {
+            entries.forEach(entry -> columns.add(entry.getAmount(), entry.getCreatedAt().toLocalDate().toEpochDay(),
+                    entry.getGroupKey()));
+        }
+        return columns.build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.andremugabo.Budgy.core.ledger.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Per-user ledger versions, maintained by the triggers of the V5 migration, exposed as ETags. The version
+ * is read before the rows on the same connection, so a response is never older than the ETag it carries;
+ * a write landing in between only costs the client one extra download.
+ * <p>
+ * The ETags are weak, since a version's body is the same data gzipped or not (and Tomcat does not compress
+ * responses with a strong ETag). JSON and CBOR bodies of one version still get different ETags.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerVersionServiceImpl implements ILedgerVersionService {
+
+    // Clients may keep the response but must revalidate it before every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getVersion(UUID userId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM ledger_version WHERE user_id = ?", Long.class, userId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T> ResponseEntity<T> getIfModified(UUID userId, WebRequest request, Supplier<T> read) {
+        String etag = "W/\"" + getVersion(userId) + representationSuffix(request) + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(read.get());
+    }
+
+    // Picks the format the way Spring MVC will for this Accept header: JSON's converter comes before CBOR's
+    private String representationSuffix(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            try {
+                for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(nativeRequest)) {
+                    if (accepted.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                        return "";
+                    }
+                    if (accepted.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                        return "-cbor";
+                    }
+                }
+            } catch (HttpMediaTypeNotAcceptableException e) {
+                // Malformed Accept header; the response itself will be rejected as not acceptable
+            }
+        }
+        return "";
+    }
+
+    @Override
+    @Transactional
+    public void bumpAll() {
+        jdbcTemplate.update("UPDATE ledger_version SET version = nextval('ledger_version_seq')");
+    }
+}
@@ -0,0 +1,15 @@
+package com.andremugabo.Budgy.core.partition.service;
+
+import java.time.LocalDate;
+
+public interface IPartitionMaintenanceService {
+
+    // Creates the monthly income and expense partitions up to months-ahead past the current month; returns how many were created
+    int ensureFuturePartitions();
+
+    // Detaches income and expense partitions for months before the given one into the archive schema; returns how many were moved
+    int archivePartitionsBefore(LocalDate month);
+
+    // The month after the newest income or expense partition in the archive schema; null when none has been archived
+    LocalDate firstUnarchivedMonth();
+}
@@ -0,0 +1,109 @@
+package com.andremugabo.Budgy.core.partition.service;
+
+import com.andremugabo.Budgy.core.ledger.service.ILedgerVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of income and expense (see the V4 migration) ahead of the clock, so
+ * new rows never pile up in the default partition, and optionally archives months past retention.
+ * Runs once the application is ready and then on an interval; both steps are idempotent, so
+ * several instances running them is harmless. Each step runs in a transaction of its own through a
+ * TransactionTemplate, which maintain() calling them on this instance would not get from @Transactional.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceServiceImpl implements IPartitionMaintenanceService {
+
+    static final List<String> PARTITIONED_TABLES = List.of("income", "expense");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ILedgerVersionService ledgerVersionService;
+    private final int monthsAhead;
+    // 0 keeps every month attached
+    private final int archiveAfterMonths;
+    private final String archiveSchema;
+    private final String archiveTablespace;
+
+    public PartitionMaintenanceServiceImpl(JdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           ILedgerVersionService ledgerVersionService,
+                                           @Value("${budgy.partitions.months-ahead:3}") int monthsAhead,
+                                           @Value("${budgy.partitions.archive-after-months:0}") int archiveAfterMonths,
+                                           @Value("${budgy.partitions.archive-schema:archive}") String archiveSchema,
+                                           @Value("${budgy.partitions.archive-tablespace:}") String archiveTablespace) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledgerVersionService = ledgerVersionService;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+        this.archiveSchema = archiveSchema;
+        this.archiveTablespace = archiveTablespace;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${budgy.partitions.maintenance-interval:12h}",
+            fixedDelayString = "${budgy.partitions.maintenance-interval:12h}")
+    public void maintain() {
+        int created = ensureFuturePartitions();
+        int archived = archiveAfterMonths > 0
+                ? archivePartitionsBefore(LocalDate.now().withDayOfMonth(1).minusMonths(archiveAfterMonths))
+                : 0;
+        if (created > 0 || archived > 0) {
+            log.info("Partition maintenance created {} and archived {} monthly partitions", created, archived);
+        }
+    }
+
+    @Override
+    public int ensureFuturePartitions() {
+        Integer created = transactionTemplate.execute(status -> {
+            int total = 0;
+            for (String table : PARTITIONED_TABLES) {
+                Integer count = jdbcTemplate.queryForObject("SELECT budgy_ensure_monthly_partitions(?, CAST(? AS date), ?)",
+                        Integer.class, table, LocalDate.now(), monthsAhead);
+                total += count == null ? 0 : count;
+            }
+            return total;
+        });
+        return created == null ? 0 : created;
+    }
+
+    @Override
+    public int archivePartitionsBefore(LocalDate month) {
+        // The detach and the version bump commit together, so no client keeps a collection the archive emptied
+        Integer archived = transactionTemplate.execute(status -> {
+            int total = 0;
+            for (String table : PARTITIONED_TABLES) {
+                Integer count = jdbcTemplate.queryForObject("SELECT budgy_archive_monthly_partitions(?, CAST(? AS date), ?, ?)",
+                        Integer.class, table, month, archiveSchema, archiveTablespace);
+                total += count == null ? 0 : count;
+            }
+            if (total > 0) {
+                // Detaching fires no triggers, but the archived rows just left everyone's collections
+                ledgerVersionService.bumpAll();
+            }
+            return total;
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    @Override
+    public LocalDate firstUnarchivedMonth() {
+        // Archived partitions keep their <table>_pYYYYMM names in the archive schema
+        return jdbcTemplate.queryForObject("SELECT CAST(max(to_date(right(c.relname, 6), 'YYYYMM')) + interval '1 month' AS date) "
+                        + "FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE n.nspname = ? AND c.relkind = 'r' AND c.relname ~ '^(income|expense)_p[0-9]{6}$'",
+                LocalDate.class, archiveSchema);
+    }
+}
@@ -9,12 +9,16 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 
 @Entity
+@SQLDelete(sql = "UPDATE savings SET active = false, updated_at = now(), version = version + 1 WHERE id = ? AND version = ?")
+@SQLRestriction("active = true")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Savings extends AbstractBaseEntity {
     @Column(nullable = false)
@@ -34,5 +38,8 @@ public class Savings extends AbstractBaseEntity {
     @JoinColumn(name = "user_id")
     @JsonIgnore
     private Users users;
+    // Also bumped by contributions, so an edit based on an older read fails instead of undoing them
+    @Version
+    private Long version;
 
 }
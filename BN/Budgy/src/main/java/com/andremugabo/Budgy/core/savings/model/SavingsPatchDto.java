@@ -0,0 +1,34 @@
+package com.andremugabo.Budgy.core.savings.model;
+
+import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Fields left out (null) keep their stored value; contributions go through their own endpoint
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavingsPatchDto {
+
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    private String name;
+
+    private BigDecimal targetAmount;
+
+    private BigDecimal currentAmount;
+
+    private LocalDate targetDate;
+
+    private ESavingsPriority priority;
+
+    private String description;
+}
@@ -0,0 +1,27 @@
+package com.andremugabo.Budgy.core.savings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Published when a savings goal is updated, with the saved amount before and after the change.
+ */
+@Getter
+@AllArgsConstructor
+public class SavingsUpdatedEvent {
+
+    private final UUID savingsId;
+
+    private final UUID userId;
+
+    private final String name;
+
+    private final BigDecimal previousAmount;
+
+    private final BigDecimal currentAmount;
+
+    private final BigDecimal targetAmount;
+}
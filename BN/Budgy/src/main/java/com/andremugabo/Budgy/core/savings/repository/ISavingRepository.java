@@ -2,12 +2,23 @@ package com.andremugabo.Budgy.core.savings.repository;
 
 import com.andremugabo.Budgy.core.savings.model.Savings;
 import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ISavingRepository extends JpaRepository<Savings, UUID> {
@@ -15,9 +26,47 @@ public interface ISavingRepository extends JpaRepository<Savings, UUID> {
     // Get all savings for a specific user
     List<Savings> findByUsersId(UUID userId);
 
+    // Get all savings for a user with a specific priority
+    List<Savings> findByUsersIdAndPriority(UUID userId, ESavingsPriority priority);
+
     // Get all savings with a specific priority
     List<Savings> findByPriority(ESavingsPriority priority);
 
     // Get all savings for a user within a target date range
     List<Savings> findByUsersIdAndTargetDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
+
+    // Adds to the goal and records the contribution in one statement; 0 means no active goal with that id
+    @Modifying
+    @Query(value = "WITH goal AS (UPDATE savings SET current_amount = current_amount + :amount, version = version + 1, " +
+            "updated_at = now() WHERE id = :id AND active RETURNING id, user_id) " +
+            "INSERT INTO savings_contribution (id, created_at, savings_id, user_id, amount) " +
+            "SELECT gen_random_uuid(), now(), goal.id, goal.user_id, :amount FROM goal", nativeQuery = true)
+    int addContribution(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    // The same, provided the goal belongs to the given user
+    @Modifying
+    @Query(value = "WITH goal AS (UPDATE savings SET current_amount = current_amount + :amount, version = version + 1, " +
+            "updated_at = now() WHERE id = :id AND user_id = :ownerId AND active RETURNING id, user_id) " +
+            "INSERT INTO savings_contribution (id, created_at, savings_id, user_id, amount) " +
+            "SELECT gen_random_uuid(), now(), goal.id, goal.user_id, :amount FROM goal", nativeQuery = true)
+    int addContributionForOwner(@Param("id") UUID id, @Param("ownerId") UUID ownerId, @Param("amount") BigDecimal amount);
+
+    // Keyset pages ordered newest first on (created_at, id)
+    @Query("SELECT s FROM Savings s ORDER BY s.createdAt DESC, s.id DESC")
+    List<Savings> findFirstPage(Pageable pageable);
+
+    @Query("SELECT s FROM Savings s WHERE (s.createdAt, s.id) < (:createdAt, :id) ORDER BY s.createdAt DESC, s.id DESC")
+    List<Savings> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT s FROM Savings s WHERE s.users.id = :userId ORDER BY s.createdAt DESC, s.id DESC")
+    List<Savings> findFirstPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("SELECT s FROM Savings s WHERE s.users.id = :userId AND (s.createdAt, s.id) < (:createdAt, :id) ORDER BY s.createdAt DESC, s.id DESC")
+    List<Savings> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id, Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Savings s WHERE s.users.id = :userId ORDER BY s.createdAt, s.id")
+    Stream<Savings> streamByUserId(@Param("userId") UUID userId);
 }
@@ -1,20 +1,28 @@
 package com.andremugabo.Budgy.core.savings.service;
 
 import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.savings.model.SavingsPatchDto;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
 import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ISavingService {
-    Savings registerSavings(Savings theSavings);
-    Savings updateSavings(Savings theSavings);
-    void deleteSavings(UUID id);
+    Savings registerSavings(UUID userId, Savings theSavings);
+    Savings updateSavings(Savings theSavings, UUID ownerId);
+    Savings addContribution(UUID savingsId, BigDecimal amount, UUID ownerId);
+    Optional<Savings> patchSavings(UUID id, SavingsPatchDto patch, UUID ownerId);
+    void deleteSavings(UUID id, Long version, UUID ownerId);
     List<Savings> getAll();
     List<Savings> getSavingsByUser(UUID userId);
     List<Savings> getSavingsByUserAndPriority(UUID userId, ESavingsPriority priority);
     List<Savings> getSavingsByUserWithinPeriod(UUID userId, LocalDate start, LocalDate end);
 
     List<Savings> getSavingsByPriority(ESavingsPriority priority);
+    CursorPage<Savings> getSavingsPage(String after, int limit);
+    CursorPage<Savings> getSavingsPageByUser(UUID userId, String after, int limit);
 }
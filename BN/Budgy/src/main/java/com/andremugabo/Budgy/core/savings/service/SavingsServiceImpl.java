@@ -1,72 +1,188 @@
 package com.andremugabo.Budgy.core.savings.service;
 
 import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.savings.model.SavingsPatchDto;
+import com.andremugabo.Budgy.core.savings.model.SavingsUpdatedEvent;
 import com.andremugabo.Budgy.core.savings.repository.ISavingRepository;
+import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.pagination.CursorPage;
+import com.andremugabo.Budgy.core.util.patch.PatchUpdate;
 import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
+import com.andremugabo.Budgy.core.util.user.Ownership;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SavingsServiceImpl implements ISavingService {
 
     private final ISavingRepository savingRepository;
+    private final IUserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
-    public Savings registerSavings(Savings theSavings) {
+    @Transactional
+    public Savings registerSavings(UUID userId, Savings theSavings) {
+        if (userId != null) {
+            theSavings.setUsers(userRepository.getReferenceById(userId));
+        }
         return savingRepository.save(theSavings);
     }
 
     @Override
-    public Savings updateSavings(Savings theSavings) {
+    @Transactional
+    public Savings updateSavings(Savings theSavings, UUID ownerId) {
         if (theSavings.getId() == null) {
             throw new IllegalArgumentException("Savings ID cannot be null for update");
         }
-        return savingRepository.save(theSavings);
+        // Without the version that was read, the edit could silently undo a concurrent contribution
+        if (theSavings.getVersion() == null) {
+            throw new IllegalArgumentException("Savings version is required for update");
+        }
+        Savings existing = savingRepository.findById(theSavings.getId())
+                .filter(savings -> Ownership.permits(ownerId, savings.getUsers()))
+                .orElseThrow(() -> new IllegalArgumentException("Savings not found with ID: " + theSavings.getId()));
+        // The owner and creation time are not part of the request body; keep the stored ones
+        BigDecimal previousAmount = existing.getCurrentAmount();
+        if (theSavings.getCreatedAt() == null) {
+            theSavings.setCreatedAt(existing.getCreatedAt());
+        }
+        if (theSavings.getUsers() == null) {
+            theSavings.setUsers(existing.getUsers());
+        }
+        Savings saved = savingRepository.save(theSavings);
+        if (saved.getUsers() != null) {
+            // Seen by the alert rules once the transaction commits
+            eventPublisher.publishEvent(new SavingsUpdatedEvent(saved.getId(), saved.getUsers().getId(), saved.getName(),
+                    previousAmount, saved.getCurrentAmount(), saved.getTargetAmount()));
+        }
+        return saved;
     }
 
     @Override
-    public void deleteSavings(UUID id) {
+    @Transactional
+    public Savings addContribution(UUID savingsId, BigDecimal amount, UUID ownerId) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Contribution amount must be greater than 0");
+        }
+        int updated = ownerId == null
+                ? savingRepository.addContribution(savingsId, amount)
+                : savingRepository.addContributionForOwner(savingsId, ownerId, amount);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Savings not found with ID: " + savingsId);
+        }
+        // The row stays locked by the update until commit, so this reads exactly the amount it produced
+        Savings saved = savingRepository.findById(savingsId)
+                .orElseThrow(() -> new IllegalArgumentException("Savings not found with ID: " + savingsId));
+        if (saved.getUsers() != null) {
+            eventPublisher.publishEvent(new SavingsUpdatedEvent(saved.getId(), saved.getUsers().getId(), saved.getName(),
+                    saved.getCurrentAmount().subtract(amount), saved.getCurrentAmount(), saved.getTargetAmount()));
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Optional<Savings> patchSavings(UUID id, SavingsPatchDto patch, UUID ownerId) {
+        PatchUpdate update = new PatchUpdate("savings")
+                .ownedBy(ownerId)
+                .set("name", patch.getName())
+                .set("target_amount", patch.getTargetAmount())
+                .set("current_amount", patch.getCurrentAmount())
+                .set("target_date", patch.getTargetDate())
+                .set("priority", patch.getPriority())
+                .set("description", patch.getDescription());
+        BigDecimal previousAmount = null;
+        if (update.changes("current_amount") || update.changes("target_amount")) {
+            // The alert rules compare against the amount this update replaced
+            Optional<BigDecimal> previous = update.applyReturning(jdbcTemplate, id, patch.getVersion(), "current_amount",
+                    "previous.current_amount", (rs, rowNum) -> rs.getBigDecimal("current_amount"));
+            if (previous.isEmpty()) {
+                return Optional.empty();
+            }
+            previousAmount = previous.get();
+        } else if (!update.apply(jdbcTemplate, id, patch.getVersion())) {
+            return Optional.empty();
+        }
+        Optional<Savings> saved = savingRepository.findById(id);
+        if (previousAmount != null && saved.isPresent() && saved.get().getUsers() != null) {
+            Savings goal = saved.get();
+            eventPublisher.publishEvent(new SavingsUpdatedEvent(goal.getId(), goal.getUsers().getId(), goal.getName(),
+                    previousAmount, goal.getCurrentAmount(), goal.getTargetAmount()));
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void deleteSavings(UUID id, Long version, UUID ownerId) {
+        // Like an edit: deleting a goal the client has not seen at its current amount must not go through
+        if (version == null) {
+            throw new IllegalArgumentException("Savings version is required for delete");
+        }
         Savings savings = savingRepository.findById(id)
+                .filter(found -> Ownership.permits(ownerId, found.getUsers()))
                 .orElseThrow(() -> new IllegalArgumentException("Savings not found with ID: " + id));
+        if (!version.equals(savings.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Savings.class, id);
+        }
+        // The soft delete matches on the version read here, so a change committed since fails it at flush
         savingRepository.delete(savings);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Savings> getAll() {
         return savingRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Savings> getSavingsByUser(UUID userId) {
-        return savingRepository.findAll().stream()
-                .filter(s -> s.getUsers().getId().equals(userId))
-                .collect(Collectors.toList());
+        return savingRepository.findByUsersId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Savings> getSavingsByUserAndPriority(UUID userId, ESavingsPriority priority) {
-        return savingRepository.findAll().stream()
-                .filter(s -> s.getUsers().getId().equals(userId) && s.getPriority() == priority)
-                .collect(Collectors.toList());
+        return savingRepository.findByUsersIdAndPriority(userId, priority);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Savings> getSavingsByUserWithinPeriod(UUID userId, LocalDate start, LocalDate end) {
-        return savingRepository.findAll().stream()
-                .filter(s -> s.getUsers().getId().equals(userId)
-                        && (s.getTargetDate().isEqual(start) || s.getTargetDate().isAfter(start))
-                        && (s.getTargetDate().isEqual(end) || s.getTargetDate().isBefore(end)))
-                .collect(Collectors.toList());
+        // BETWEEN is inclusive on both ends, matching the previous in-memory filter
+        return savingRepository.findByUsersIdAndTargetDateBetween(userId, start, end);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Savings> getSavingsByPriority(ESavingsPriority priority) {
         return  savingRepository.findByPriority(priority);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Savings> getSavingsPage(String after, int limit) {
+        return CursorPage.fetch(after, limit, savingRepository::findFirstPage, savingRepository::findPageAfter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Savings> getSavingsPageByUser(UUID userId, String after, int limit) {
+        return CursorPage.fetch(after, limit,
+                pageable -> savingRepository.findFirstPageByUserId(userId, pageable),
+                (createdAt, id, pageable) -> savingRepository.findPageByUserIdAfter(userId, createdAt, id, pageable));
+    }
 }
@@ -0,0 +1,32 @@
+package com.andremugabo.Budgy.core.summary.model;
+
+import com.andremugabo.Budgy.core.base.AbstractBaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Running expense total of one user for one month and category (null for uncategorised expenses).
+ * Maintained the same way as {@link MonthlyIncomeSummary}.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_monthly_expense_summary_user_month", columnList = "user_id, month_start"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MonthlyExpenseSummary extends AbstractBaseEntity {
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    @Column(name = "month_start", nullable = false)
+    private LocalDate month;
+    @Column(name = "category_id")
+    private UUID categoryId;
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+}
@@ -0,0 +1,21 @@
+package com.andremugabo.Budgy.core.summary.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyExpenseTotalDto {
+    private LocalDate month;
+    private UUID categoryId;
+    private BigDecimal total;
+    private Long entryCount;
+}
@@ -0,0 +1,35 @@
+package com.andremugabo.Budgy.core.summary.model;
+
+import com.andremugabo.Budgy.core.base.AbstractBaseEntity;
+import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Running income total of one user for one month and income type.
+ * Kept in step with the income table by the income service, which upserts the bucket; a unique index
+ * (V10 migration) keeps it to one row per key.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_monthly_income_summary_user_month", columnList = "user_id, month_start"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MonthlyIncomeSummary extends AbstractBaseEntity {
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    @Column(name = "month_start", nullable = false)
+    private LocalDate month;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "income_type", nullable = false)
+    private EIncomeType incomeType;
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+}
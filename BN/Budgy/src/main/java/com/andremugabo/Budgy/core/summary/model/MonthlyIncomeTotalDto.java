@@ -0,0 +1,21 @@
+package com.andremugabo.Budgy.core.summary.model;
+
+import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyIncomeTotalDto {
+    private LocalDate month;
+    private EIncomeType incomeType;
+    private BigDecimal total;
+    private Long entryCount;
+}
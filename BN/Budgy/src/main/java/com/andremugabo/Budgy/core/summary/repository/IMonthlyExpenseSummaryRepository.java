@@ -0,0 +1,68 @@
+package com.andremugabo.Budgy.core.summary.repository;
+
+import com.andremugabo.Budgy.core.summary.model.MonthlyExpenseSummary;
+import com.andremugabo.Budgy.core.summary.model.MonthlyExpenseTotalDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface IMonthlyExpenseSummaryRepository extends JpaRepository<MonthlyExpenseSummary, UUID> {
+
+    // Creates the month/category bucket or adds to it in one statement, so concurrent first writes cannot both insert
+    @Modifying
+    @Query(value = "INSERT INTO monthly_expense_summary (id, active, created_at, user_id, month_start, category_id, total, entry_count) " +
+            "VALUES (gen_random_uuid(), TRUE, now(), :userId, :month, :categoryId, :amount, :count) " +
+            "ON CONFLICT (user_id, month_start, category_id) DO UPDATE SET total = monthly_expense_summary.total + EXCLUDED.total, " +
+            "entry_count = monthly_expense_summary.entry_count + EXCLUDED.entry_count, updated_at = now()", nativeQuery = true)
+    int addToBucket(@Param("userId") UUID userId, @Param("month") LocalDate month,
+                    @Param("categoryId") UUID categoryId, @Param("amount") BigDecimal amount,
+                    @Param("count") long count);
+
+    // Same for uncategorised expenses, whose bucket has a NULL category (one bucket: the index treats NULLs as equal)
+    @Modifying
+    @Query(value = "INSERT INTO monthly_expense_summary (id, active, created_at, user_id, month_start, category_id, total, entry_count) " +
+            "VALUES (gen_random_uuid(), TRUE, now(), :userId, :month, NULL, :amount, :count) " +
+            "ON CONFLICT (user_id, month_start, category_id) DO UPDATE SET total = monthly_expense_summary.total + EXCLUDED.total, " +
+            "entry_count = monthly_expense_summary.entry_count + EXCLUDED.entry_count, updated_at = now()", nativeQuery = true)
+    int addToUncategorisedBucket(@Param("userId") UUID userId, @Param("month") LocalDate month,
+                                 @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Query("SELECT COALESCE(SUM(s.total), 0) FROM MonthlyExpenseSummary s WHERE s.userId = :userId")
+    BigDecimal getTotalByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT new com.andremugabo.Budgy.core.summary.model.MonthlyExpenseTotalDto(s.month, s.categoryId, SUM(s.total), SUM(s.entryCount)) " +
+            "FROM MonthlyExpenseSummary s WHERE s.userId = :userId " +
+            "GROUP BY s.month, s.categoryId HAVING SUM(s.entryCount) > 0 ORDER BY s.month")
+    List<MonthlyExpenseTotalDto> findMonthlyTotalsByUserId(@Param("userId") UUID userId);
+
+    // from limits these to buckets of that month onwards; null means every month
+    @Modifying
+    @Query("DELETE FROM MonthlyExpenseSummary s WHERE s.userId = :userId AND s.month >= COALESCE(:from, s.month)")
+    int deleteByUserId(@Param("userId") UUID userId, @Param("from") LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyExpenseSummary s WHERE s.month >= COALESCE(:from, s.month)")
+    int deleteFrom(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_expense_summary (id, active, created_at, user_id, month_start, category_id, total, entry_count) " +
+            "SELECT gen_random_uuid(), TRUE, now(), e.user_id, CAST(date_trunc('month', COALESCE(e.created_at, now())) AS date), " +
+            "e.category_id, SUM(e.amount), COUNT(*) FROM expense e WHERE e.user_id = :userId AND e.active " +
+            "AND (CAST(:from AS date) IS NULL OR e.created_at >= CAST(:from AS date)) " +
+            "GROUP BY e.user_id, 5, e.category_id", nativeQuery = true)
+    int rebuildForUser(@Param("userId") UUID userId, @Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_expense_summary (id, active, created_at, user_id, month_start, category_id, total, entry_count) " +
+            "SELECT gen_random_uuid(), TRUE, now(), e.user_id, CAST(date_trunc('month', COALESCE(e.created_at, now())) AS date), " +
+            "e.category_id, SUM(e.amount), COUNT(*) FROM expense e WHERE e.active " +
+            "AND (CAST(:from AS date) IS NULL OR e.created_at >= CAST(:from AS date)) " +
+            "GROUP BY e.user_id, 5, e.category_id", nativeQuery = true)
+    int rebuildAll(@Param("from") LocalDate from);
+}
@@ -0,0 +1,59 @@
+package com.andremugabo.Budgy.core.summary.repository;
+
+import com.andremugabo.Budgy.core.summary.model.MonthlyIncomeSummary;
+import com.andremugabo.Budgy.core.summary.model.MonthlyIncomeTotalDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface IMonthlyIncomeSummaryRepository extends JpaRepository<MonthlyIncomeSummary, UUID> {
+
+    // Creates the month/type bucket or adds to it in one statement, so concurrent first writes cannot both insert
+    @Modifying
+    @Query(value = "INSERT INTO monthly_income_summary (id, active, created_at, user_id, month_start, income_type, total, entry_count) " +
+            "VALUES (gen_random_uuid(), TRUE, now(), :userId, :month, :incomeType, :amount, :count) " +
+            "ON CONFLICT (user_id, month_start, income_type) DO UPDATE SET total = monthly_income_summary.total + EXCLUDED.total, " +
+            "entry_count = monthly_income_summary.entry_count + EXCLUDED.entry_count, updated_at = now()", nativeQuery = true)
+    int addToBucket(@Param("userId") UUID userId, @Param("month") LocalDate month,
+                    @Param("incomeType") String incomeType, @Param("amount") BigDecimal amount,
+                    @Param("count") long count);
+
+    @Query("SELECT COALESCE(SUM(s.total), 0) FROM MonthlyIncomeSummary s WHERE s.userId = :userId")
+    BigDecimal getTotalByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT new com.andremugabo.Budgy.core.summary.model.MonthlyIncomeTotalDto(s.month, s.incomeType, SUM(s.total), SUM(s.entryCount)) " +
+            "FROM MonthlyIncomeSummary s WHERE s.userId = :userId " +
+            "GROUP BY s.month, s.incomeType HAVING SUM(s.entryCount) > 0 ORDER BY s.month, s.incomeType")
+    List<MonthlyIncomeTotalDto> findMonthlyTotalsByUserId(@Param("userId") UUID userId);
+
+    // from limits these to buckets of that month onwards; null means every month
+    @Modifying
+    @Query("DELETE FROM MonthlyIncomeSummary s WHERE s.userId = :userId AND s.month >= COALESCE(:from, s.month)")
+    int deleteByUserId(@Param("userId") UUID userId, @Param("from") LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyIncomeSummary s WHERE s.month >= COALESCE(:from, s.month)")
+    int deleteFrom(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_income_summary (id, active, created_at, user_id, month_start, income_type, total, entry_count) " +
+            "SELECT gen_random_uuid(), TRUE, now(), i.user_id, CAST(date_trunc('month', COALESCE(i.created_at, now())) AS date), " +
+            "i.income_type, SUM(i.amount), COUNT(*) FROM income i WHERE i.user_id = :userId AND i.active " +
+            "AND (CAST(:from AS date) IS NULL OR i.created_at >= CAST(:from AS date)) " +
+            "GROUP BY i.user_id, 5, i.income_type", nativeQuery = true)
+    int rebuildForUser(@Param("userId") UUID userId, @Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_income_summary (id, active, created_at, user_id, month_start, income_type, total, entry_count) " +
+            "SELECT gen_random_uuid(), TRUE, now(), i.user_id, CAST(date_trunc('month', COALESCE(i.created_at, now())) AS date), " +
+            "i.income_type, SUM(i.amount), COUNT(*) FROM income i WHERE i.active " +
+            "AND (CAST(:from AS date) IS NULL OR i.created_at >= CAST(:from AS date)) " +
+            "GROUP BY i.user_id, 5, i.income_type", nativeQuery = true)
+    int rebuildAll(@Param("from") LocalDate from);
+}
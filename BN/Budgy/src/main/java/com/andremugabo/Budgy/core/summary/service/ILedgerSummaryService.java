@@ -0,0 +1,39 @@
+package com.andremugabo.Budgy.core.summary.service;
+
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.summary.model.MonthlyExpenseTotalDto;
+import com.andremugabo.Budgy.core.summary.model.MonthlyIncomeTotalDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface ILedgerSummaryService {
+
+    // Add (sign = 1) or remove (sign = -1) an income from its monthly bucket; call inside the writing transaction
+    void recordIncome(Income income, int sign);
+
+    // Add (sign = 1) or remove (sign = -1) an expense from its monthly bucket; call inside the writing transaction
+    void recordExpense(Expense expense, int sign);
+
+    // Add a batch of new incomes, touching each monthly bucket once
+    void recordIncomes(List<Income> incomes);
+
+    // Add a batch of new expenses, touching each monthly bucket once
+    void recordExpenses(List<Expense> expenses);
+
+    BigDecimal getTotalIncomeByUser(UUID userId);
+
+    BigDecimal getTotalExpenseByUser(UUID userId);
+
+    List<MonthlyIncomeTotalDto> getMonthlyIncomeByUser(UUID userId);
+
+    List<MonthlyExpenseTotalDto> getMonthlyExpensesByUser(UUID userId);
+
+    // Recompute a user's buckets from the income and expense tables (drift repair); archived months are kept as they are
+    void rebuildForUser(UUID userId);
+
+    // Recompute every user's buckets from the income and expense tables (drift repair); archived months are kept as they are
+    void rebuildAll();
+}
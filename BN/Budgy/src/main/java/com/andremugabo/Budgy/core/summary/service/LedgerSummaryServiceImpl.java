@@ -0,0 +1,154 @@
+package com.andremugabo.Budgy.core.summary.service;
+
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.partition.service.IPartitionMaintenanceService;
+import com.andremugabo.Budgy.core.summary.model.MonthlyExpenseTotalDto;
+import com.andremugabo.Budgy.core.summary.model.MonthlyIncomeTotalDto;
+import com.andremugabo.Budgy.core.summary.repository.IMonthlyExpenseSummaryRepository;
+import com.andremugabo.Budgy.core.summary.repository.IMonthlyIncomeSummaryRepository;
+import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerSummaryServiceImpl implements ILedgerSummaryService {
+
+    private final IMonthlyIncomeSummaryRepository incomeSummaryRepository;
+    private final IMonthlyExpenseSummaryRepository expenseSummaryRepository;
+    private final IPartitionMaintenanceService partitionMaintenanceService;
+
+    @Override
+    @Transactional
+    public void recordIncome(Income income, int sign) {
+        if (income.getUsers() == null || income.getAmount() == null || income.getIncomeType() == null) {
+            return;
+        }
+        applyIncome(income.getUsers().getId(), monthOf(income.getCreatedAt()), income.getIncomeType(),
+                income.getAmount().multiply(BigDecimal.valueOf(sign)), sign);
+    }
+
+    @Override
+    @Transactional
+    public void recordExpense(Expense expense, int sign) {
+        if (expense.getUsers() == null || expense.getAmount() == null) {
+            return;
+        }
+        UUID categoryId = expense.getCategory() == null ? null : expense.getCategory().getId();
+        applyExpense(expense.getUsers().getId(), monthOf(expense.getCreatedAt()), categoryId,
+                expense.getAmount().multiply(BigDecimal.valueOf(sign)), sign);
+    }
+
+    @Override
+    @Transactional
+    public void recordIncomes(List<Income> incomes) {
+        Map<IncomeBucket, BigDecimal> totals = new HashMap<>();
+        Map<IncomeBucket, Long> counts = new HashMap<>();
+        for (Income income : incomes) {
+            if (income.getUsers() == null || income.getAmount() == null || income.getIncomeType() == null) {
+                continue;
+            }
+            IncomeBucket bucket = new IncomeBucket(income.getUsers().getId(), monthOf(income.getCreatedAt()), income.getIncomeType());
+            totals.merge(bucket, income.getAmount(), BigDecimal::add);
+            counts.merge(bucket, 1L, Long::sum);
+        }
+        totals.forEach((bucket, total) ->
+                applyIncome(bucket.userId(), bucket.month(), bucket.incomeType(), total, counts.get(bucket)));
+    }
+
+    @Override
+    @Transactional
+    public void recordExpenses(List<Expense> expenses) {
+        Map<ExpenseBucket, BigDecimal> totals = new HashMap<>();
+        Map<ExpenseBucket, Long> counts = new HashMap<>();
+        for (Expense expense : expenses) {
+            if (expense.getUsers() == null || expense.getAmount() == null) {
+                continue;
+            }
+            UUID categoryId = expense.getCategory() == null ? null : expense.getCategory().getId();
+            ExpenseBucket bucket = new ExpenseBucket(expense.getUsers().getId(), monthOf(expense.getCreatedAt()), categoryId);
+            totals.merge(bucket, expense.getAmount(), BigDecimal::add);
+            counts.merge(bucket, 1L, Long::sum);
+        }
+        totals.forEach((bucket, total) ->
+                applyExpense(bucket.userId(), bucket.month(), bucket.categoryId(), total, counts.get(bucket)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalIncomeByUser(UUID userId) {
+        return incomeSummaryRepository.getTotalByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalExpenseByUser(UUID userId) {
+        return expenseSummaryRepository.getTotalByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MonthlyIncomeTotalDto> getMonthlyIncomeByUser(UUID userId) {
+        return incomeSummaryRepository.findMonthlyTotalsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MonthlyExpenseTotalDto> getMonthlyExpensesByUser(UUID userId) {
+        return expenseSummaryRepository.findMonthlyTotalsByUserId(userId);
+    }
+
+    // Months archived out of the partitioned tables keep their buckets; only the ones still attached are recomputed
+    @Override
+    @Transactional
+    public void rebuildForUser(UUID userId) {
+        LocalDate from = partitionMaintenanceService.firstUnarchivedMonth();
+        incomeSummaryRepository.deleteByUserId(userId, from);
+        incomeSummaryRepository.rebuildForUser(userId, from);
+        expenseSummaryRepository.deleteByUserId(userId, from);
+        expenseSummaryRepository.rebuildForUser(userId, from);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAll() {
+        LocalDate from = partitionMaintenanceService.firstUnarchivedMonth();
+        incomeSummaryRepository.deleteFrom(from);
+        incomeSummaryRepository.rebuildAll(from);
+        expenseSummaryRepository.deleteFrom(from);
+        expenseSummaryRepository.rebuildAll(from);
+    }
+
+    private void applyIncome(UUID userId, LocalDate month, EIncomeType type, BigDecimal amount, long count) {
+        incomeSummaryRepository.addToBucket(userId, month, type.name(), amount, count);
+    }
+
+    private void applyExpense(UUID userId, LocalDate month, UUID categoryId, BigDecimal amount, long count) {
+        if (categoryId == null) {
+            expenseSummaryRepository.addToUncategorisedBucket(userId, month, amount, count);
+        } else {
+            expenseSummaryRepository.addToBucket(userId, month, categoryId, amount, count);
+        }
+    }
+
+    private record IncomeBucket(UUID userId, LocalDate month, EIncomeType incomeType) {
+    }
+
+    private record ExpenseBucket(UUID userId, LocalDate month, UUID categoryId) {
+    }
+
+    private static LocalDate monthOf(LocalDateTime createdAt) {
+        LocalDate day = createdAt == null ? LocalDate.now() : createdAt.toLocalDate();
+        return day.withDayOfMonth(1);
+    }
+}
@@ -1,7 +1,6 @@
 package com.andremugabo.Budgy.core.user.model;
 
 import com.andremugabo.Budgy.core.util.user.EGender;
-import com.andremugabo.Budgy.core.util.user.EUserRole;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -38,7 +37,4 @@ public class UserRegisterDto {
 
     @NotBlank(message = "Password cannot be empty")
     private String password;
-
-    @NotNull(message = "Role cannot be null")
-    private EUserRole role;
 }
\ No newline at end of file
@@ -1,18 +1,40 @@
 package com.andremugabo.Budgy.core.user.repository;
 
 import com.andremugabo.Budgy.core.user.model.Users;
-import jakarta.validation.constraints.Email;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface IUserRepository extends JpaRepository<Users, UUID> {
-    Optional<Users> findByEmail(String email);
-    boolean existsByEmail(@Email(message = "Invalid email format") String email);
+    // Expects a normalized email (EmailAddresses.normalize) and matches on the ux_users_email_lower index.
+    // Cached in the query cache; invalidated automatically whenever the users table is written
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT u FROM Users u WHERE lower(u.email) = :email")
+    Optional<Users> findByEmail(@Param("email") String normalizedEmail);
+
+    @Query("SELECT COUNT(u) > 0 FROM Users u WHERE lower(u.email) = :email")
+    boolean existsByEmail(@Param("email") String normalizedEmail);
+
     List<Users> findAllByActiveTrue();
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Users> findByIdAndActiveTrue(UUID id);
 
+    // Feeds KnownEmailFilter
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT lower(u.email) FROM Users u")
+    Stream<String> streamAllNormalizedEmails();
 
+    @Query("SELECT lower(u.email) FROM Users u WHERE u.createdAt >= :since")
+    List<String> findNormalizedEmailsCreatedSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,32 @@
+package com.andremugabo.Budgy.core.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps unauthenticated email-availability checks per client address, so the endpoint cannot be used to
+ * enumerate registered emails at scale. Fixed windows that start at a client's first check; counted per
+ * instance.
+ */
+@Component
+public class EmailCheckLimiter {
+
+    private final int limit;
+    private final Cache<String, AtomicInteger> windows;
+
+    public EmailCheckLimiter(@Value("${budgy.email-check.limit:10}") int limit,
+                             @Value("${budgy.email-check.window:1m}") Duration window,
+                             @Value("${budgy.email-check.max-clients:100000}") long maxClients) {
+        this.limit = limit;
+        this.windows = Caffeine.newBuilder().maximumSize(maxClients).expireAfterWrite(window).build();
+    }
+
+    public boolean tryAcquire(String client) {
+        return windows.get(client, key -> new AtomicInteger()).incrementAndGet() <= limit;
+    }
+}
@@ -11,7 +11,7 @@ import java.util.UUID;
 
 public interface IUserService {
     Users registerUser(UserRegisterDto userRegisterDto);
-    Users updateUser(Users theUser);
+    Users updateUser(Users theUser, boolean mayChangeRole);
     List<Users> getAllUser();
 
     @Transactional(readOnly = true)
@@ -19,4 +19,5 @@ public interface IUserService {
 
     Users deleteUser(UUID id);
     Optional<Users> login(UserLoginDto userLoginDto);
+    boolean isEmailAvailable(String email);
 }
@@ -0,0 +1,83 @@
+package com.andremugabo.Budgy.core.user.service;
+
+import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.bloom.BloomFilter;
+import com.andremugabo.Budgy.core.util.user.EmailAddresses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of every registered email, so availability checks for unknown emails can be
+ * answered without a query. Not used to turn away logins: a miss may be a signup on another instance.
+ * Built from the users table once the application is ready, then kept current on local inserts and
+ * rebuilt periodically to pick up users registered through other instances. Until the first build
+ * completes every email is reported as possibly known.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KnownEmailFilter {
+
+    private final IUserRepository userRepository;
+
+    @Value("${budgy.email-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${budgy.email-filter.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    private volatile BloomFilter filter;
+    // Filter under construction; local inserts go into it too so none are lost in the swap
+    private volatile BloomFilter building;
+
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(EmailAddresses.normalize(email));
+    }
+
+    public void add(String email) {
+        String normalized = EmailAddresses.normalize(email);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(normalized);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(normalized);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${budgy.email-filter.rebuild-interval:10m}",
+            fixedDelayString = "${budgy.email-filter.rebuild-interval:10m}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        building = rebuilt;
+        long count = 0;
+        try (Stream<String> emails = userRepository.streamAllNormalizedEmails()) {
+            for (String email : (Iterable<String>) emails::iterator) {
+                rebuilt.put(email);
+                count++;
+            }
+            // Users committed by other instances while the table was being read
+            userRepository.findNormalizedEmailsCreatedSince(startedAt.minusMinutes(1)).forEach(rebuilt::put);
+            filter = rebuilt;
+        } finally {
+            building = null;
+        }
+        log.info("Rebuilt known-email filter with {} emails ({} bits) in {} ms", count, rebuilt.bitSize(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+}
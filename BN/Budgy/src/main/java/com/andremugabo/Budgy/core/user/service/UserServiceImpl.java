@@ -1,65 +1,118 @@
 package com.andremugabo.Budgy.core.user.service;
 
+import com.andremugabo.Budgy.core.auth.service.ITokenService;
 import com.andremugabo.Budgy.core.user.model.UserLoginDto;
 import com.andremugabo.Budgy.core.user.model.UserRegisterDto;
 import com.andremugabo.Budgy.core.user.model.Users;
 import com.andremugabo.Budgy.core.user.repository.IUserRepository;
+import com.andremugabo.Budgy.core.util.user.EUserRole;
+import com.andremugabo.Budgy.core.util.user.EmailAddresses;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserServiceImpl implements IUserService {
 
+    // PostgreSQL unique_violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    // Stored passwords that are not BCrypt hashes predate hashing and are upgraded on the next login
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$.{53}$");
+
     private final IUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ITokenService tokenService;
+    private final KnownEmailFilter knownEmailFilter;
+
+    // Compared against when the email is unknown; made with the configured work factor
+    private String unknownUserHash;
+
+    @PostConstruct
+    void initUnknownUserHash() {
+        unknownUserHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
 
     @Override
     @Transactional
     public Users registerUser(UserRegisterDto userRegisterDto) {
-        if (userRepository.existsByEmail(userRegisterDto.getEmail())) {
-            throw new IllegalArgumentException("Email already in use: " + userRegisterDto.getEmail());
-        }
-
         Users user = new Users();
         user.setFirstName(userRegisterDto.getFirstName());
         user.setLastName(userRegisterDto.getLastName());
-        user.setEmail(userRegisterDto.getEmail());
+        user.setEmail(EmailAddresses.normalize(userRegisterDto.getEmail()));
         user.setGender(userRegisterDto.getGender());
         user.setDob(userRegisterDto.getDob());
         user.setImage(userRegisterDto.getImage());
-        user.setPassword(userRegisterDto.getPassword());
-        user.setRole(userRegisterDto.getRole());
+        user.setPassword(passwordEncoder.encode(userRegisterDto.getPassword()));
+        // Self-service signups are always regular users; admins are made by an admin
+        user.setRole(EUserRole.USER);
+
+        // One INSERT; the unique index on lower(email) is the duplicate check, so there is no race window
+        try {
+            Users saved = userRepository.saveAndFlush(user);
+            knownEmailFilter.add(saved.getEmail());
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new IllegalArgumentException("Email already in use: " + userRegisterDto.getEmail());
+            }
+            throw e;
+        }
+    }
 
-        return userRepository.save(user);
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isEmailAvailable(String email) {
+        String normalized = EmailAddresses.normalize(email);
+        return !knownEmailFilter.mightExist(normalized) || !userRepository.existsByEmail(normalized);
     }
 
     @Override
-    public Users updateUser(Users theUser) {
+    public Users updateUser(Users theUser, boolean mayChangeRole) {
         Users existingUser = userRepository.findById(theUser.getId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + theUser.getId()));
 
         // Update mutable fields only
         existingUser.setFirstName(theUser.getFirstName());
         existingUser.setLastName(theUser.getLastName());
-        existingUser.setEmail(theUser.getEmail());
+        existingUser.setEmail(EmailAddresses.normalize(theUser.getEmail()));
         existingUser.setGender(theUser.getGender());
         existingUser.setDob(theUser.getDob());
         existingUser.setImage(theUser.getImage());
-        existingUser.setRole(theUser.getRole());
 
-        // Update password only if provided (TODO: hash it)
-        if (theUser.getPassword() != null && !theUser.getPassword().isBlank()) {
-            existingUser.setPassword(theUser.getPassword());
+        // The role is carried in issued tokens, so a change also ends the sessions that hold the old one
+        boolean roleChanged = mayChangeRole && theUser.getRole() != null && theUser.getRole() != existingUser.getRole();
+        if (roleChanged) {
+            existingUser.setRole(theUser.getRole());
+        }
+
+        // Update password only if provided; tokens issued under the old password stop working
+        boolean passwordChanged = theUser.getPassword() != null && !theUser.getPassword().isBlank();
+        if (passwordChanged) {
+            existingUser.setPassword(passwordEncoder.encode(theUser.getPassword()));
+        }
+        if (roleChanged || passwordChanged) {
+            tokenService.revokeAllForUser(existingUser.getId());
         }
 
-        return userRepository.save(existingUser);
+        Users saved = userRepository.save(existingUser);
+        knownEmailFilter.add(saved.getEmail());
+        return saved;
     }
 
     @Override
@@ -85,26 +138,57 @@ public class UserServiceImpl implements IUserService {
         }
 
         user.setActive(false);
+        tokenService.revokeAllForUser(id);
         return userRepository.save(user);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public Optional<Users> login(UserLoginDto userLoginDto) {
         // Validate input
         if (userLoginDto == null || userLoginDto.getEmail() == null || userLoginDto.getPassword() == null) {
             throw new IllegalArgumentException("Email and password are required");
         }
 
-        // Find user by email
-        Optional<Users> user = userRepository.findByEmail(userLoginDto.getEmail());
+        // Always from the database: the email filter can lag behind signups on other instances, and a
+        // login is BCrypt-bound anyway, so skipping the indexed lookup would save next to nothing
+        String email = EmailAddresses.normalize(userLoginDto.getEmail());
+        Optional<Users> user = userRepository.findByEmail(email);
+        if (user.isEmpty()) {
+            // Spend the same hashing time as a real check so response times do not reveal unknown emails
+            passwordEncoder.matches(userLoginDto.getPassword(), unknownUserHash);
+            return Optional.empty();
+        }
 
-        // Verify user exists and password matches
-        if (user.isPresent() && userLoginDto.getPassword().equals(user.get().getPassword())) {
-            return user;
+        Users found = user.get();
+        String stored = found.getPassword();
+        boolean hashed = stored != null && BCRYPT_HASH.matcher(stored).matches();
+        boolean matches = hashed
+                ? passwordEncoder.matches(userLoginDto.getPassword(), stored)
+                : stored != null && MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                        userLoginDto.getPassword().getBytes(StandardCharsets.UTF_8));
+        if (!matches || Boolean.FALSE.equals(found.getActive())) {
+            return Optional.empty();
         }
 
-        // Return empty if authentication fails
-        return Optional.empty();
+        // Re-hash legacy plaintext passwords and hashes made with a lower work factor
+        if (!hashed || passwordEncoder.upgradeEncoding(stored)) {
+            found.setPassword(passwordEncoder.encode(userLoginDto.getPassword()));
+        }
+        return Optional.of(found);
+    }
+
+    // Batched inserts surface the driver's error without a constraint kind, so the SQLState is checked as well
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,58 @@
+package com.andremugabo.Budgy.core.util.analytics;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+public enum EAnalyticsBucket {
+    DAY, WEEK, MONTH;
+
+    // 1970-01-01 was a Thursday; weeks start on Monday like date_trunc('week')
+    private static final int EPOCH_MONDAY_OFFSET = 3;
+
+    // Field name understood by PostgreSQL's date_trunc
+    public String sqlUnit() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Number of the bucket an epoch day falls in: days, Monday-based weeks or calendar months since the
+     * epoch. Plain arithmetic, so it can run per row without creating a LocalDate.
+     */
+    public int bucketOf(int epochDay) {
+        return switch (this) {
+            case DAY -> epochDay;
+            case WEEK -> Math.floorDiv(epochDay + EPOCH_MONDAY_OFFSET, 7);
+            case MONTH -> epochMonth(epochDay);
+        };
+    }
+
+    // First day of a bucket numbered by bucketOf, i.e. what date_trunc returns
+    public LocalDate bucketStart(int bucket) {
+        return switch (this) {
+            case DAY -> LocalDate.ofEpochDay(bucket);
+            case WEEK -> LocalDate.ofEpochDay((long) bucket * 7 - EPOCH_MONDAY_OFFSET);
+            case MONTH -> LocalDate.of(1970 + Math.floorDiv(bucket, 12), Math.floorMod(bucket, 12) + 1, 1);
+        };
+    }
+
+    public static EAnalyticsBucket fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("bucket must be one of day, week, month");
+        }
+    }
+
+    // Civil-from-days on 400-year eras (proleptic Gregorian, as LocalDate), months counted from 1970-01
+    private static int epochMonth(int epochDay) {
+        int shifted = epochDay + 719_468; // days since 0000-03-01
+        int era = Math.floorDiv(shifted, 146_097);
+        int dayOfEra = shifted - era * 146_097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int marchMonth = (5 * dayOfYear + 2) / 153; // 0 = March
+        int year = yearOfEra + era * 400 + (marchMonth >= 10 ? 1 : 0);
+        int month = marchMonth < 10 ? marchMonth + 2 : marchMonth - 10; // 0 = January
+        return (year - 1970) * 12 + month;
+    }
+}
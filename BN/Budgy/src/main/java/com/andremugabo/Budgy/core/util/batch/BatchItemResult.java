@@ -0,0 +1,29 @@
+package com.andremugabo.Budgy.core.util.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one element of a bulk request, addressed by its position in the request.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BatchItemResult {
+    private final int index;
+    private final EBatchItemStatus status;
+    private final UUID id;
+    private final List<String> errors;
+
+    public static BatchItemResult created(int index, UUID id) {
+        return new BatchItemResult(index, EBatchItemStatus.CREATED, id, List.of());
+    }
+
+    public static BatchItemResult rejected(int index, List<String> errors) {
+        return new BatchItemResult(index, EBatchItemStatus.REJECTED, null, errors);
+    }
+}
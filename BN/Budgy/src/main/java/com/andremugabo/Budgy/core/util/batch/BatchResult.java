@@ -0,0 +1,18 @@
+package com.andremugabo.Budgy.core.util.batch;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchResult {
+    private final int created;
+    private final int rejected;
+    private final List<BatchItemResult> items;
+
+    public BatchResult(List<BatchItemResult> items) {
+        this.items = items;
+        this.created = (int) items.stream().filter(item -> item.getStatus() == EBatchItemStatus.CREATED).count();
+        this.rejected = items.size() - created;
+    }
+}
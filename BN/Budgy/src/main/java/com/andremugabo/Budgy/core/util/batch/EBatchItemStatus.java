@@ -0,0 +1,5 @@
+package com.andremugabo.Budgy.core.util.batch;
+
+public enum EBatchItemStatus {
+    CREATED, REJECTED
+}
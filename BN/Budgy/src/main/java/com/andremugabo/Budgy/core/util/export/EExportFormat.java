@@ -0,0 +1,5 @@
+package com.andremugabo.Budgy.core.util.export;
+
+public enum EExportFormat {
+    NDJSON, CSV
+}
@@ -0,0 +1,50 @@
+package com.andremugabo.Budgy.core.util.fields;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse field selection ({@code ?fields=id,amount}) for the ledger list responses. Types mixed in with
+ * {@link Selectable} serialize every property unless a response is written with {@link #only}, which
+ * keeps just the named properties; names that do not exist are ignored.
+ */
+public final class SparseFields {
+
+    public static final String PARAMETER = "fields";
+
+    static final String FILTER_ID = "sparseFields";
+
+    // Every property; the ObjectMapper's filters when no selection is asked for
+    public static final FilterProvider ALL = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+
+    private SparseFields() {
+    }
+
+    // Jackson mix-in marking a type as selectable
+    @JsonFilter(FILTER_ID)
+    public interface Selectable {
+    }
+
+    public static FilterProvider only(Set<String> fields) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    // "id, amount,,source" -> [id, amount, source]; empty when nothing is named
+    public static Set<String> parse(String parameter) {
+        if (parameter == null) {
+            return Set.of();
+        }
+        return Arrays.stream(parameter.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
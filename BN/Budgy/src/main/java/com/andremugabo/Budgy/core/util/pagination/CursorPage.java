@@ -0,0 +1,54 @@
+package com.andremugabo.Budgy.core.util.pagination;
+
+import com.andremugabo.Budgy.core.base.AbstractBaseEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of a list ordered newest first on (created_at, id).
+ * {@code nextCursor} is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    @FunctionalInterface
+    public interface PageAfterQuery<T> {
+        List<T> find(LocalDateTime createdAt, UUID id, Pageable pageable);
+    }
+
+    /**
+     * Runs the first-page or after-cursor query and builds the page.
+     * One extra row is fetched to know whether another page exists, so no count query is needed.
+     */
+    public static <T extends AbstractBaseEntity> CursorPage<T> fetch(String after, int limit,
+                                                                     Function<Pageable, List<T>> firstPage,
+                                                                     PageAfterQuery<T> pageAfter) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        PageCursor cursor = PageCursor.decode(after);
+        List<T> rows = cursor == null
+                ? firstPage.apply(pageable)
+                : pageAfter.find(cursor.getCreatedAt(), cursor.getId(), pageable);
+
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new CursorPage<>(items, new PageCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+}
@@ -0,0 +1,112 @@
+package com.andremugabo.Budgy.core.util.patch;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The single UPDATE behind a PATCH: assigns only the columns given a value, and only while the row is
+ * active and still at the version the client read. The version is bumped like any other write through
+ * the entity (@Version). No row updated means not found, unless the row exists at another version, in
+ * which case {@link OptimisticLockingFailureException} is thrown. Rows of another user than the one given to
+ * {@link #ownedBy} count as not found.
+ * <p>
+ * Column names are fixed by the calling service; only values come from the request.
+ */
+public class PatchUpdate {
+
+    private final String table;
+    private final Map<String, Object> assignments = new LinkedHashMap<>();
+    private UUID ownerId;
+
+    public PatchUpdate(String table) {
+        this.table = table;
+    }
+
+    // Absent fields are left alone; none of the patchable columns is nullable
+    public PatchUpdate set(String column, Object value) {
+        if (value != null) {
+            // Enums are stored by name (EnumType.STRING)
+            assignments.put(column, value instanceof Enum<?> constant ? constant.name() : value);
+        }
+        return this;
+    }
+
+    // Limits the update to rows of this user; null leaves it unrestricted
+    public PatchUpdate ownedBy(UUID ownerId) {
+        this.ownerId = ownerId;
+        return this;
+    }
+
+    public boolean changes(String column) {
+        return assignments.containsKey(column);
+    }
+
+    public boolean apply(JdbcTemplate jdbcTemplate, UUID id, long version) {
+        String sql = "UPDATE " + table + " SET " + assignmentList()
+                + " WHERE id = ? AND version = ? AND active" + ownerCondition();
+        int updated = jdbcTemplate.update(sql, arguments(id, version));
+        return updated > 0 || ensureNotFound(jdbcTemplate, id, version);
+    }
+
+    /**
+     * Like {@link #apply} but also returns values from before the update, read from the same locked row;
+     * {@code returning} selects from "previous" (the old row) and the table itself (the new one).
+     */
+    public <T> Optional<T> applyReturning(JdbcTemplate jdbcTemplate, UUID id, long version, String previousColumns,
+                                         String returning, RowMapper<T> rowMapper) {
+        String sql = "UPDATE " + table + " SET " + assignmentList()
+                + " FROM (SELECT id, " + previousColumns + " FROM " + table
+                + " WHERE id = ? AND version = ? AND active" + ownerCondition() + " FOR UPDATE) previous"
+                + " WHERE " + table + ".id = previous.id RETURNING " + returning;
+        List<T> rows = jdbcTemplate.query(sql, rowMapper, arguments(id, version));
+        if (rows.isEmpty()) {
+            ensureNotFound(jdbcTemplate, id, version);
+            return Optional.empty();
+        }
+        return Optional.of(rows.get(0));
+    }
+
+    private String assignmentList() {
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        List<String> columns = new ArrayList<>();
+        assignments.keySet().forEach(column -> columns.add(column + " = ?"));
+        columns.add("version = " + table + ".version + 1");
+        columns.add("updated_at = now()");
+        return String.join(", ", columns);
+    }
+
+    private String ownerCondition() {
+        return ownerId == null ? "" : " AND user_id = ?";
+    }
+
+    private Object[] arguments(UUID id, long version) {
+        List<Object> arguments = new ArrayList<>(assignments.values());
+        arguments.add(id);
+        arguments.add(version);
+        if (ownerId != null) {
+            arguments.add(ownerId);
+        }
+        return arguments.toArray();
+    }
+
+    private boolean ensureNotFound(JdbcTemplate jdbcTemplate, UUID id, long version) {
+        Object[] arguments = ownerId == null ? new Object[]{id} : new Object[]{id, ownerId};
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + table + " WHERE id = ? AND active" + ownerCondition() + ")",
+                Boolean.class, arguments);
+        if (Boolean.TRUE.equals(exists)) {
+            throw new OptimisticLockingFailureException(table + " " + id + " is no longer at version " + version);
+        }
+        return false;
+    }
+}
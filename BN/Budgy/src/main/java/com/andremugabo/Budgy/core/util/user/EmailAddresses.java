@@ -0,0 +1,14 @@
+package com.andremugabo.Budgy.core.util.user;
+
+import java.util.Locale;
+
+public final class EmailAddresses {
+
+    private EmailAddresses() {
+    }
+
+    // The form emails are stored, indexed (lower(email)) and looked up in
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.andremugabo.Budgy.core.util.user;
+
+import com.andremugabo.Budgy.core.user.model.Users;
+
+import java.util.UUID;
+
+public final class Ownership {
+
+    private Ownership() {
+    }
+
+    // A null scope (admin, or authentication off) may touch any row; otherwise only rows the scope's user owns
+    public static boolean permits(UUID ownerScope, Users owner) {
+        return ownerScope == null || (owner != null && ownerScope.equals(owner.getId()));
+    }
+
+    public static boolean permits(UUID ownerScope, UUID ownerId) {
+        return ownerScope == null || ownerScope.equals(ownerId);
+    }
+}
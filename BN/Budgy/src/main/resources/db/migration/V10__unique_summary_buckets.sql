@@ -0,0 +1,30 @@
+-- One row per summary bucket, so the first writes of a month can upsert instead of racing to insert.
+-- Buckets already duplicated by such a race are folded into their oldest row first.
+WITH merged AS (
+    SELECT (array_agg(id ORDER BY created_at, id))[1] AS keep_id, array_agg(id) AS ids,
+           SUM(total) AS total, SUM(entry_count) AS entry_count
+    FROM monthly_income_summary
+    GROUP BY user_id, month_start, income_type
+    HAVING COUNT(*) > 1
+), kept AS (
+    UPDATE monthly_income_summary s SET total = m.total, entry_count = m.entry_count, updated_at = now()
+    FROM merged m WHERE s.id = m.keep_id
+)
+DELETE FROM monthly_income_summary s USING merged m WHERE s.id = ANY (m.ids) AND s.id <> m.keep_id;
+
+WITH merged AS (
+    SELECT (array_agg(id ORDER BY created_at, id))[1] AS keep_id, array_agg(id) AS ids,
+           SUM(total) AS total, SUM(entry_count) AS entry_count
+    FROM monthly_expense_summary
+    GROUP BY user_id, month_start, category_id
+    HAVING COUNT(*) > 1
+), kept AS (
+    UPDATE monthly_expense_summary s SET total = m.total, entry_count = m.entry_count, updated_at = now()
+    FROM merged m WHERE s.id = m.keep_id
+)
+DELETE FROM monthly_expense_summary s USING merged m WHERE s.id = ANY (m.ids) AND s.id <> m.keep_id;
+
+CREATE UNIQUE INDEX uq_monthly_income_summary_bucket ON monthly_income_summary (user_id, month_start, income_type);
+-- The uncategorised bucket (NULL category) is one bucket too
+CREATE UNIQUE INDEX uq_monthly_expense_summary_bucket ON monthly_expense_summary (user_id, month_start, category_id)
+    NULLS NOT DISTINCT;
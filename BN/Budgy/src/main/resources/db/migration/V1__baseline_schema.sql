@@ -0,0 +1,157 @@
+-- Schema as Hibernate generated it from the entities before migrations took over.
+-- Databases created that way by ddl-auto=update are baselined below this version and run it too
+-- (spring.flyway.baseline-on-migrate), so every statement tolerates objects that already exist
+-- and constraint names are the ones Hibernate chose.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            uuid         NOT NULL PRIMARY KEY,
+    active        boolean      NOT NULL,
+    created_at    timestamp(6),
+    updated_at    timestamp(6),
+    created_by    varchar(255),
+    modified_by   varchar(255),
+    first_name    varchar(255) NOT NULL,
+    last_name     varchar(255) NOT NULL,
+    email         varchar(255) NOT NULL UNIQUE,
+    gender        varchar(255) NOT NULL CHECK (gender IN ('MALE', 'FEMALE')),
+    date_of_birth date,
+    image         varchar(255),
+    password      varchar(255) NOT NULL,
+    user_role     varchar(255) NOT NULL CHECK (user_role IN ('ADMIN', 'USER'))
+);
+
+CREATE TABLE IF NOT EXISTS expense_category (
+    id          uuid         NOT NULL PRIMARY KEY,
+    active      boolean      NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    created_by  varchar(255),
+    modified_by varchar(255),
+    name        varchar(100) NOT NULL,
+    icon        varchar(50)  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS expense (
+    id          uuid          NOT NULL PRIMARY KEY,
+    active      boolean       NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    created_by  varchar(255),
+    modified_by varchar(255),
+    amount      numeric(19, 2) NOT NULL,
+    category_id uuid,
+    user_id     uuid          NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS income (
+    id          uuid           NOT NULL PRIMARY KEY,
+    active      boolean        NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    created_by  varchar(255),
+    modified_by varchar(255),
+    amount      numeric(38, 2) NOT NULL,
+    source      varchar(255)   NOT NULL,
+    income_type varchar(255)   NOT NULL CHECK (income_type IN ('SALARY', 'ALLOWANCE', 'INVESTMENT', 'BUSINESS', 'INTEREST')),
+    description varchar(255)   NOT NULL,
+    user_id     uuid           NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS savings (
+    id             uuid           NOT NULL PRIMARY KEY,
+    active         boolean        NOT NULL,
+    created_at     timestamp(6),
+    updated_at     timestamp(6),
+    created_by     varchar(255),
+    modified_by    varchar(255),
+    name           varchar(255)   NOT NULL,
+    target_amount  numeric(38, 2) NOT NULL,
+    current_amount numeric(38, 2) NOT NULL,
+    target_date    date           NOT NULL,
+    priority       varchar(255)   NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    description    text           NOT NULL,
+    user_id        uuid
+);
+
+CREATE TABLE IF NOT EXISTS alert (
+    id            uuid         NOT NULL PRIMARY KEY,
+    active        boolean      NOT NULL,
+    created_at    timestamp(6),
+    updated_at    timestamp(6),
+    created_by    varchar(255),
+    modified_by   varchar(255),
+    user_id       uuid,
+    title         varchar(255) NOT NULL,
+    alert_message text         NOT NULL,
+    alert_type    varchar(255) NOT NULL CHECK (alert_type IN ('GENERAL', 'WELCOME', 'BUDGET_ALERT', 'BUDGET_EXCEEDED',
+        'SAVINGS_GOAL_PROGRESS', 'SAVINGS_GOAL_REACHED', 'BILL_REMINDER', 'UNUSUAL_SPENDING', 'INCOME_RECEIVED',
+        'FINANCIAL_TIP', 'SYSTEM_ALERT')),
+    is_read       boolean      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS monthly_income_summary (
+    id          uuid           NOT NULL PRIMARY KEY,
+    active      boolean        NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    created_by  varchar(255),
+    modified_by varchar(255),
+    user_id     uuid           NOT NULL,
+    month_start date           NOT NULL,
+    income_type varchar(255)   NOT NULL CHECK (income_type IN ('SALARY', 'ALLOWANCE', 'INVESTMENT', 'BUSINESS', 'INTEREST')),
+    total       numeric(19, 2) NOT NULL,
+    entry_count bigint         NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS monthly_expense_summary (
+    id          uuid           NOT NULL PRIMARY KEY,
+    active      boolean        NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    created_by  varchar(255),
+    modified_by varchar(255),
+    user_id     uuid           NOT NULL,
+    month_start date           NOT NULL,
+    category_id uuid,
+    total       numeric(19, 2) NOT NULL,
+    entry_count bigint         NOT NULL
+);
+
+-- Keyset pagination and per-user listings (declared on the entities with @Index)
+CREATE INDEX IF NOT EXISTS idx_alert_created_id ON alert (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_alert_user_created_id ON alert (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_expense_created_id ON expense (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_expense_user_created_id ON expense (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_expense_user_category ON expense (user_id, category_id);
+CREATE INDEX IF NOT EXISTS idx_income_created_id ON income (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_income_user_created_id ON income (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_savings_created_id ON savings (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_savings_user_created_id ON savings (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_savings_user_priority ON savings (user_id, priority);
+CREATE INDEX IF NOT EXISTS idx_savings_user_target_date ON savings (user_id, target_date);
+CREATE INDEX IF NOT EXISTS idx_monthly_income_summary_user_month ON monthly_income_summary (user_id, month_start);
+CREATE INDEX IF NOT EXISTS idx_monthly_expense_summary_user_month ON monthly_expense_summary (user_id, month_start);
+
+DO $$
+BEGIN
+    BEGIN
+        ALTER TABLE alert ADD CONSTRAINT FK4otqif7xfv2mhi7mcuc2cw0rx FOREIGN KEY (user_id) REFERENCES users;
+    EXCEPTION WHEN duplicate_object THEN NULL;
+    END;
+    BEGIN
+        ALTER TABLE expense ADD CONSTRAINT FKjtx7wmxe23tb6l78v45q1u6ct FOREIGN KEY (category_id) REFERENCES expense_category;
+    EXCEPTION WHEN duplicate_object THEN NULL;
+    END;
+    BEGIN
+        ALTER TABLE expense ADD CONSTRAINT FKekyts7i8w5cam119wj1itdom2 FOREIGN KEY (user_id) REFERENCES users;
+    EXCEPTION WHEN duplicate_object THEN NULL;
+    END;
+    BEGIN
+        ALTER TABLE income ADD CONSTRAINT FKnuw53hk0hha02go6e3itfne7t FOREIGN KEY (user_id) REFERENCES users;
+    EXCEPTION WHEN duplicate_object THEN NULL;
+    END;
+    BEGIN
+        ALTER TABLE savings ADD CONSTRAINT FKbj5iiqpw46u7bbkb1gdpl0d25 FOREIGN KEY (user_id) REFERENCES users;
+    EXCEPTION WHEN duplicate_object THEN NULL;
+    END;
+END $$;
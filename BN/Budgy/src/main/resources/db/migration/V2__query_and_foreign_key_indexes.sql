@@ -0,0 +1,18 @@
+-- Indexes the entities cannot declare, previously applied by schema.sql on every start.
+-- IF NOT EXISTS because baselined databases already have them.
+
+-- The user_id foreign keys of alert, expense, income and savings lead the (user_id, created_at, id)
+-- indexes from V1, so per-user filters and the ON DELETE checks from users are covered.
+-- category_id only appears second in idx_expense_user_category, which does not help lookups by
+-- category or deleting a category.
+CREATE INDEX IF NOT EXISTS idx_expense_category ON expense (category_id);
+
+-- Emails are unique regardless of case; registration relies on this index instead of a lookup before insert
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (lower(email));
+
+-- Unread alerts only: backs the badge count (index-only) and the unread list, and stays small as alerts are read
+CREATE INDEX IF NOT EXISTS idx_alert_user_unread ON alert (user_id, created_at) WHERE is_read = false;
+
+-- Covering indexes for the analytics GROUP BYs: a user's date range is read from the index alone
+CREATE INDEX IF NOT EXISTS idx_expense_user_created_cover ON expense (user_id, created_at) INCLUDE (category_id, amount);
+CREATE INDEX IF NOT EXISTS idx_income_user_created_cover ON income (user_id, created_at) INCLUDE (income_type, amount);
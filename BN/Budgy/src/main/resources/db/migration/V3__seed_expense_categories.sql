@@ -0,0 +1,13 @@
+-- Default categories, formerly db/init/001_seed.sql. That script ran before the tables existed
+-- on a fresh volume, so it only seeded databases that were initialised twice.
+INSERT INTO expense_category (id, active, created_at, name, icon)
+SELECT gen_random_uuid(), TRUE, now(), c.name, c.icon
+FROM (VALUES
+    ('Food', 'fastfood'),
+    ('Transport', 'directions_bus'),
+    ('Health', 'local_hospital'),
+    ('Shopping', 'shopping_cart'),
+    ('Education', 'school'),
+    ('Bills', 'receipt_long')
+) AS c(name, icon)
+WHERE NOT EXISTS (SELECT 1 FROM expense_category ec WHERE ec.name = c.name);
@@ -0,0 +1,110 @@
+-- income and expense become monthly range partitions on created_at, so period queries only read the
+-- months they ask for and whole months can be detached for archiving. The entities are unchanged:
+-- the primary key has to include the partition key, so it is now (id, created_at), and ids remain
+-- unique UUIDs.
+
+-- Creates the monthly partitions of a parent table from the month of from_month through months_ahead
+-- months past the current one. Rows for a new month that already landed in the default partition are
+-- moved into it first. Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION budgy_ensure_monthly_partitions(parent text, from_month date, months_ahead integer)
+RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start date := date_trunc('month', COALESCE(from_month, current_date))::date;
+    last_month  date := (date_trunc('month', current_date) + make_interval(months => months_ahead))::date;
+    partition   text;
+    created     integer := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition := parent || '_p' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(quote_ident(partition)) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition, parent);
+            EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved',
+                           parent || '_default', month_start, (month_start + interval '1 month')::date, partition);
+            EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           parent, partition, month_start, (month_start + interval '1 month')::date);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END $$;
+
+-- Detaches the monthly partitions of a parent that end on or before before_month and moves them to
+-- archive_schema (and archive_tablespace when given). The rows leave every query on the parent;
+-- the monthly summaries keep their totals. Returns the number of partitions archived.
+CREATE OR REPLACE FUNCTION budgy_archive_monthly_partitions(parent text, before_month date, archive_schema text,
+                                                            archive_tablespace text DEFAULT NULL)
+RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition text;
+    archived  integer := 0;
+BEGIN
+    EXECUTE format('CREATE SCHEMA IF NOT EXISTS %I', archive_schema);
+    FOR partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = parent::regclass
+          AND c.relname ~ ('^' || parent || '_p[0-9]{6}$')
+          AND to_date(right(c.relname, 6), 'YYYYMM') < date_trunc('month', before_month)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, partition);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA %I', partition, archive_schema);
+        IF archive_tablespace IS NOT NULL AND archive_tablespace <> '' THEN
+            EXECUTE format('ALTER TABLE %I.%I SET TABLESPACE %I', archive_schema, partition, archive_tablespace);
+        END IF;
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END $$;
+
+-- income
+UPDATE income SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+ALTER TABLE income RENAME TO income_unpartitioned;
+ALTER TABLE income_unpartitioned RENAME CONSTRAINT income_pkey TO income_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_income_created_id;
+DROP INDEX IF EXISTS idx_income_user_created_id;
+DROP INDEX IF EXISTS idx_income_user_created_cover;
+
+CREATE TABLE income (LIKE income_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at);
+ALTER TABLE income ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE income ADD CONSTRAINT income_pkey PRIMARY KEY (id, created_at);
+CREATE TABLE income_default PARTITION OF income DEFAULT;
+SELECT budgy_ensure_monthly_partitions('income', (SELECT min(created_at)::date FROM income_unpartitioned), 3);
+INSERT INTO income SELECT * FROM income_unpartitioned;
+DROP TABLE income_unpartitioned;
+
+CREATE INDEX idx_income_created_id ON income (created_at, id);
+CREATE INDEX idx_income_user_created_id ON income (user_id, created_at, id);
+CREATE INDEX idx_income_user_created_cover ON income (user_id, created_at) INCLUDE (income_type, amount);
+ALTER TABLE income ADD CONSTRAINT FKnuw53hk0hha02go6e3itfne7t FOREIGN KEY (user_id) REFERENCES users;
+
+-- expense
+UPDATE expense SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+ALTER TABLE expense RENAME TO expense_unpartitioned;
+ALTER TABLE expense_unpartitioned RENAME CONSTRAINT expense_pkey TO expense_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_expense_created_id;
+DROP INDEX IF EXISTS idx_expense_user_created_id;
+DROP INDEX IF EXISTS idx_expense_user_category;
+DROP INDEX IF EXISTS idx_expense_category;
+DROP INDEX IF EXISTS idx_expense_user_created_cover;
+
+CREATE TABLE expense (LIKE expense_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at);
+ALTER TABLE expense ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE expense ADD CONSTRAINT expense_pkey PRIMARY KEY (id, created_at);
+CREATE TABLE expense_default PARTITION OF expense DEFAULT;
+SELECT budgy_ensure_monthly_partitions('expense', (SELECT min(created_at)::date FROM expense_unpartitioned), 3);
+INSERT INTO expense SELECT * FROM expense_unpartitioned;
+DROP TABLE expense_unpartitioned;
+
+CREATE INDEX idx_expense_created_id ON expense (created_at, id);
+CREATE INDEX idx_expense_user_created_id ON expense (user_id, created_at, id);
+CREATE INDEX idx_expense_user_category ON expense (user_id, category_id);
+CREATE INDEX idx_expense_category ON expense (category_id);
+CREATE INDEX idx_expense_user_created_cover ON expense (user_id, created_at) INCLUDE (category_id, amount);
+ALTER TABLE expense ADD CONSTRAINT FKjtx7wmxe23tb6l78v45q1u6ct FOREIGN KEY (category_id) REFERENCES expense_category;
+ALTER TABLE expense ADD CONSTRAINT FKekyts7i8w5cam119wj1itdom2 FOREIGN KEY (user_id) REFERENCES users;
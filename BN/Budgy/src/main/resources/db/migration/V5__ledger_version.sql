@@ -0,0 +1,58 @@
+-- One version per user, replaced by a fresh sequence value whenever a statement on income, expense,
+-- savings or alert touches that user's rows. Values are never reused, so they work as strong ETags for
+-- the per-user collections. Bumped by statement-level triggers in the writing transaction, which
+-- covers batch inserts, bulk updates and writes from any instance alike.
+CREATE SEQUENCE ledger_version_seq;
+
+CREATE TABLE ledger_version (
+    user_id uuid PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    version bigint NOT NULL
+);
+
+INSERT INTO ledger_version (user_id, version)
+SELECT id, nextval('ledger_version_seq') FROM users;
+
+-- Transition tables are only visible to triggers declaring them, so each operation has its own trigger;
+-- users are locked in id order to keep concurrent multi-user statements from deadlocking
+CREATE OR REPLACE FUNCTION budgy_bump_ledger_version()
+RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO ledger_version (user_id, version)
+        SELECT user_id, nextval('ledger_version_seq')
+        FROM (SELECT DISTINCT user_id FROM new_rows WHERE user_id IS NOT NULL ORDER BY user_id) changed
+        ON CONFLICT (user_id) DO UPDATE SET version = EXCLUDED.version;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO ledger_version (user_id, version)
+        SELECT user_id, nextval('ledger_version_seq')
+        FROM (SELECT user_id FROM old_rows WHERE user_id IS NOT NULL
+              UNION
+              SELECT user_id FROM new_rows WHERE user_id IS NOT NULL
+              ORDER BY user_id) changed
+        ON CONFLICT (user_id) DO UPDATE SET version = EXCLUDED.version;
+    ELSE
+        INSERT INTO ledger_version (user_id, version)
+        SELECT user_id, nextval('ledger_version_seq')
+        FROM (SELECT DISTINCT user_id FROM old_rows WHERE user_id IS NOT NULL ORDER BY user_id) changed
+        ON CONFLICT (user_id) DO UPDATE SET version = EXCLUDED.version;
+    END IF;
+    RETURN NULL;
+END $$;
+
+DO $$
+DECLARE
+    ledger_table text;
+BEGIN
+    FOREACH ledger_table IN ARRAY ARRAY['income', 'expense', 'savings', 'alert'] LOOP
+        EXECUTE format('CREATE TRIGGER %I AFTER INSERT ON %I REFERENCING NEW TABLE AS new_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION budgy_bump_ledger_version()',
+                       ledger_table || '_ledger_version_ins', ledger_table);
+        EXECUTE format('CREATE TRIGGER %I AFTER UPDATE ON %I REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION budgy_bump_ledger_version()',
+                       ledger_table || '_ledger_version_upd', ledger_table);
+        EXECUTE format('CREATE TRIGGER %I AFTER DELETE ON %I REFERENCING OLD TABLE AS old_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION budgy_bump_ledger_version()',
+                       ledger_table || '_ledger_version_del', ledger_table);
+    END LOOP;
+END $$;
@@ -0,0 +1,75 @@
+-- Deletes of income, expense, savings, alert and expense_category now set active = false and stamp
+-- updated_at (see @SQLDelete on the entities); every entity query filters on active. The indexes the
+-- repositories read are limited to active rows, dead rows get their own small index for the archiver,
+-- and the archive schema receives what the archiver moves out (see ArchiveServiceImpl).
+
+-- Rows deactivated before updated_at was maintained count as inactive since now
+UPDATE users SET updated_at = now() WHERE NOT active AND updated_at IS NULL;
+UPDATE expense_category SET updated_at = now() WHERE NOT active AND updated_at IS NULL;
+UPDATE income SET updated_at = now() WHERE NOT active AND updated_at IS NULL;
+UPDATE expense SET updated_at = now() WHERE NOT active AND updated_at IS NULL;
+UPDATE savings SET updated_at = now() WHERE NOT active AND updated_at IS NULL;
+UPDATE alert SET updated_at = now() WHERE NOT active AND updated_at IS NULL;
+
+-- income
+DROP INDEX idx_income_created_id;
+DROP INDEX idx_income_user_created_id;
+DROP INDEX idx_income_user_created_cover;
+CREATE INDEX idx_income_created_id ON income (created_at, id) WHERE active;
+CREATE INDEX idx_income_user_created_id ON income (user_id, created_at, id) WHERE active;
+CREATE INDEX idx_income_user_created_cover ON income (user_id, created_at) INCLUDE (income_type, amount) WHERE active;
+-- Full index for the foreign key checks on deleting a user and for moving a user's rows; deduplicated, so small
+CREATE INDEX idx_income_user ON income (user_id);
+CREATE INDEX idx_income_inactive ON income (updated_at) WHERE NOT active;
+
+-- expense
+DROP INDEX idx_expense_created_id;
+DROP INDEX idx_expense_user_created_id;
+DROP INDEX idx_expense_user_category;
+DROP INDEX idx_expense_user_created_cover;
+CREATE INDEX idx_expense_created_id ON expense (created_at, id) WHERE active;
+CREATE INDEX idx_expense_user_created_id ON expense (user_id, created_at, id) WHERE active;
+CREATE INDEX idx_expense_user_category ON expense (user_id, category_id) WHERE active;
+CREATE INDEX idx_expense_user_created_cover ON expense (user_id, created_at) INCLUDE (category_id, amount) WHERE active;
+CREATE INDEX idx_expense_user ON expense (user_id);
+CREATE INDEX idx_expense_inactive ON expense (updated_at) WHERE NOT active;
+
+-- savings
+DROP INDEX IF EXISTS idx_savings_created_id;
+DROP INDEX IF EXISTS idx_savings_user_created_id;
+DROP INDEX IF EXISTS idx_savings_user_priority;
+DROP INDEX IF EXISTS idx_savings_user_target_date;
+CREATE INDEX idx_savings_created_id ON savings (created_at, id) WHERE active;
+CREATE INDEX idx_savings_user_created_id ON savings (user_id, created_at, id) WHERE active;
+CREATE INDEX idx_savings_user_priority ON savings (user_id, priority) WHERE active;
+CREATE INDEX idx_savings_user_target_date ON savings (user_id, target_date) WHERE active;
+CREATE INDEX idx_savings_user ON savings (user_id);
+CREATE INDEX idx_savings_inactive ON savings (updated_at) WHERE NOT active;
+
+-- alert
+DROP INDEX IF EXISTS idx_alert_created_id;
+DROP INDEX IF EXISTS idx_alert_user_created_id;
+DROP INDEX IF EXISTS idx_alert_user_unread;
+CREATE INDEX idx_alert_created_id ON alert (created_at, id) WHERE active;
+CREATE INDEX idx_alert_user_created_id ON alert (user_id, created_at, id) WHERE active;
+CREATE INDEX idx_alert_user_unread ON alert (user_id, created_at) WHERE is_read = false AND active;
+CREATE INDEX idx_alert_user ON alert (user_id);
+CREATE INDEX idx_alert_inactive ON alert (updated_at) WHERE NOT active;
+
+CREATE INDEX idx_users_inactive ON users (updated_at) WHERE NOT active;
+
+-- Archive tables: the live columns plus archived_at. The archiver copies by column name, so a column
+-- added to a live table has to be added here as well.
+CREATE SCHEMA IF NOT EXISTS archive;
+CREATE TABLE archive.users (LIKE users, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE TABLE archive.expense_category (LIKE expense_category, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE TABLE archive.income (LIKE income, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE TABLE archive.expense (LIKE expense, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE TABLE archive.savings (LIKE savings, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE TABLE archive.alert (LIKE alert, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE TABLE archive.monthly_income_summary (LIKE monthly_income_summary, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE TABLE archive.monthly_expense_summary (LIKE monthly_expense_summary, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE INDEX ON archive.income (user_id);
+CREATE INDEX ON archive.expense (user_id);
+CREATE INDEX ON archive.savings (user_id);
+CREATE INDEX ON archive.alert (user_id);
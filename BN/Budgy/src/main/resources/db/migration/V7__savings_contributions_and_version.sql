@@ -0,0 +1,19 @@
+-- Optimistic locking for savings: every write bumps version, and the entity edit paths only update the
+-- version they read (@Version on Savings). Contributions add to current_amount in the same statement
+-- that records them in savings_contribution, so concurrent contributions never overwrite each other.
+ALTER TABLE savings ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE archive.savings ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE savings_contribution (
+    id         uuid           NOT NULL PRIMARY KEY,
+    created_at timestamp(6)   NOT NULL,
+    savings_id uuid           NOT NULL REFERENCES savings (id),
+    user_id    uuid           REFERENCES users (id),
+    amount     numeric(38, 2) NOT NULL
+);
+CREATE INDEX idx_savings_contribution_savings_created ON savings_contribution (savings_id, created_at);
+CREATE INDEX idx_savings_contribution_user ON savings_contribution (user_id);
+
+-- Moved together with their goal by the archiver
+CREATE TABLE archive.savings_contribution (LIKE savings_contribution, archived_at timestamp(6) NOT NULL DEFAULT now());
+CREATE INDEX ON archive.savings_contribution (user_id);
@@ -0,0 +1,9 @@
+-- Row versions for the remaining ledger entities (savings got theirs in V7). PATCH only updates the
+-- version the client read and bumps it, like every other write through the entities (@Version).
+ALTER TABLE income ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE expense ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE alert ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE archive.income ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE archive.expense ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE archive.alert ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Access tokens carry the epoch their user was at when they were issued. Bumping it (password or role
+-- change, deactivation) revokes every token of that user on all instances, and survives restarts.
+ALTER TABLE users ADD COLUMN token_epoch integer NOT NULL DEFAULT 0;
+
+ALTER TABLE archive.users ADD COLUMN token_epoch integer NOT NULL DEFAULT 0;
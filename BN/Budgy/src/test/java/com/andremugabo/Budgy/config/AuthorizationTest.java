@@ -0,0 +1,270 @@
+package com.andremugabo.Budgy.config;
+
+import com.andremugabo.Budgy.core.auth.service.ITokenService;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.util.user.EUserRole;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * What a signed-in user who is not an admin can reach: their own rows only, whether addressed through
+ * their user id, through a row's own id, or through a batch body naming someone else; no way to make
+ * themselves an admin; and no token left working once all of theirs are revoked. The one unauthenticated
+ * lookup, email availability, is throttled.
+ */
+@SpringBootTest(properties = "budgy.auth.enabled=true")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthorizationTest {
+
+    private static final String MARKER = "authorization-test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ITokenService tokenService;
+
+    private UUID ownerId;
+    private UUID intruderId;
+    private UUID adminId;
+    private String ownerToken;
+    private String intruderToken;
+    private String adminToken;
+
+    @BeforeAll
+    void seedUsers() {
+        ownerId = seedUser(EUserRole.USER);
+        intruderId = seedUser(EUserRole.USER);
+        ownerToken = token(ownerId, EUserRole.USER);
+        intruderToken = token(intruderId, EUserRole.USER);
+        adminId = seedUser(EUserRole.ADMIN);
+        adminToken = token(adminId, EUserRole.ADMIN);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        for (UUID userId : new UUID[]{ownerId, intruderId, adminId}) {
+            jdbcTemplate.update("DELETE FROM savings_contribution WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM savings WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM income WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM monthly_income_summary WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM ledger_version WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void readsAcrossAllUsersAreAdminOnly() throws Exception {
+        for (String path : new String[]{"/api/incomes", "/api/expenses/page", "/api/savings", "/api/alerts", "/api/cache/stats"}) {
+            mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, intruderToken)).andExpect(status().isForbidden());
+        }
+        mockMvc.perform(post("/api/summaries/rebuild").header(HttpHeaders.AUTHORIZATION, intruderToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/cache/stats").header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk());
+        // Their own data stays reachable
+        mockMvc.perform(get("/api/savings/user/" + intruderId).header(HttpHeaders.AUTHORIZATION, intruderToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void encodedAndParameterisedPathsMeetTheSameRules() throws Exception {
+        String escapedOwner = "%" + Integer.toHexString(ownerId.toString().charAt(0)) + ownerId.toString().substring(1);
+        for (String path : new String[]{"/api/incomes;x", "/api/%69ncomes", "/api/incomes/user/" + ownerId + ";x",
+                "/api/incomes/user/" + escapedOwner, "/api/savings/user/" + ownerId + "/;x"}) {
+            mockMvc.perform(get(URI.create(path)).header(HttpHeaders.AUTHORIZATION, intruderToken))
+                    .andExpect(status().isForbidden());
+        }
+        // No rule covers it, so it is not reachable by a user even before it exists
+        mockMvc.perform(get("/api/not-mapped").header(HttpHeaders.AUTHORIZATION, intruderToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(URI.create("/api/incomes/user/" + intruderId + ";x")).header(HttpHeaders.AUTHORIZATION, intruderToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rowsOfAnotherUserCannotBeChanged() throws Exception {
+        UUID goal = seedGoal(ownerId);
+        String savings = "/api/savings/" + goal;
+
+        mockMvc.perform(patch(savings).header(HttpHeaders.AUTHORIZATION, intruderToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"version\":0,\"name\":\"taken\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post(savings + "/contributions").header(HttpHeaders.AUTHORIZATION, intruderToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\":5}"))
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(delete(savings).header(HttpHeaders.AUTHORIZATION, intruderToken))
+                .andExpect(status().is4xxClientError());
+        assertThat(jdbcTemplate.queryForObject("SELECT current_amount FROM savings WHERE id = ? AND active",
+                BigDecimal.class, goal)).isEqualByComparingTo(BigDecimal.ZERO);
+
+        mockMvc.perform(patch(savings).header(HttpHeaders.AUTHORIZATION, ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"version\":0,\"name\":\"kept\"}"))
+                .andExpect(status().isOk());
+        // Deletes carry the version the client last saw, like edits
+        mockMvc.perform(delete(savings).header(HttpHeaders.AUTHORIZATION, ownerToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete(savings).param("version", "0").header(HttpHeaders.AUTHORIZATION, ownerToken))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete(savings).param("version", "1").header(HttpHeaders.AUTHORIZATION, ownerToken))
+                .andExpect(status().is2xxSuccessful());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM savings WHERE id = ? AND active",
+                Integer.class, goal)).isZero();
+    }
+
+    @Test
+    void sharedCategoriesAreChangedByAdminsOnly() throws Exception {
+        String category = "{\"name\":\"" + MARKER + "\",\"icon\":\"tag\"}";
+        mockMvc.perform(post("/api/expense-categories").header(HttpHeaders.AUTHORIZATION, intruderToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(category))
+                .andExpect(status().isForbidden());
+        String created = mockMvc.perform(post("/api/expense-categories").header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(category))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        UUID categoryId = UUID.fromString(created.replaceAll(".*\"id\":\"([^\"]+)\".*", "$1"));
+        try {
+            mockMvc.perform(post("/api/expenses").header(HttpHeaders.AUTHORIZATION, ownerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\":7,\"category\":{\"id\":\"" + categoryId + "\"}}"))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(delete("/api/expense-categories/" + categoryId).header(HttpHeaders.AUTHORIZATION, intruderToken))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(delete("/api/expense-categories/" + categoryId).header(HttpHeaders.AUTHORIZATION, adminToken))
+                    .andExpect(status().isNoContent());
+
+            // The owner's expense outlives the category
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM expense WHERE user_id = ? AND active",
+                    Integer.class, ownerId)).isEqualTo(1);
+            mockMvc.perform(get("/api/expenses/user/" + ownerId).header(HttpHeaders.AUTHORIZATION, ownerToken))
+                    .andExpect(status().isOk());
+        } finally {
+            jdbcTemplate.update("DELETE FROM expense WHERE category_id = ?", categoryId);
+            jdbcTemplate.update("DELETE FROM monthly_expense_summary WHERE category_id = ?", categoryId);
+            jdbcTemplate.update("DELETE FROM expense_category WHERE id = ?", categoryId);
+        }
+    }
+
+    @Test
+    void batchesBelongToTheCaller() throws Exception {
+        mockMvc.perform(post("/api/incomes/batch").header(HttpHeaders.AUTHORIZATION, intruderToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"" + ownerId + "\",\"items\":[{\"amount\":10,\"source\":\"" + MARKER
+                                + "\",\"incomeType\":\"SALARY\",\"description\":\"" + MARKER + "\"}]}"))
+                .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM income WHERE user_id = ?", Integer.class, ownerId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM income WHERE user_id = ?", Integer.class, intruderId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rolesAreNotTakenFromTheClient() throws Exception {
+        String email = MARKER + "-signup-" + UUID.randomUUID() + "@budgy.test";
+        mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"" + email
+                                + "\",\"gender\":\"MALE\",\"password\":\"secret-password\",\"role\":\"ADMIN\"}"))
+                .andExpect(status().isOk());
+        try {
+            assertThat(jdbcTemplate.queryForObject("SELECT user_role FROM users WHERE email = ?", String.class, email))
+                    .isEqualTo("USER");
+        } finally {
+            jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+        }
+
+        mockMvc.perform(put("/api/users/" + intruderId).header(HttpHeaders.AUTHORIZATION, intruderToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"" + MARKER + "-" + intruderId
+                                + "@budgy.test\",\"gender\":\"MALE\",\"role\":\"ADMIN\"}"))
+                .andExpect(status().isOk());
+        assertThat(jdbcTemplate.queryForObject("SELECT user_role FROM users WHERE id = ?", String.class, intruderId))
+                .isEqualTo("USER");
+    }
+
+    @Test
+    void emailChecksAreThrottledPerClient() throws Exception {
+        String email = MARKER + "-" + ownerId + "@budgy.test";
+        for (int check = 0; check < 10; check++) {
+            mockMvc.perform(get("/api/users/email-available").param("email", email)
+                            .with(request -> { request.setRemoteAddr("192.0.2.10"); return request; }))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/users/email-available").param("email", email)
+                        .with(request -> { request.setRemoteAddr("192.0.2.10"); return request; }))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/users/email-available").param("email", email)
+                        .with(request -> { request.setRemoteAddr("192.0.2.11"); return request; }))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void revokingAllTokensSparesTheNextLogin() throws Exception {
+        UUID userId = seedUser(EUserRole.USER);
+        try {
+            String revoked = token(userId, EUserRole.USER);
+            tokenService.revokeAllForUser(userId);
+            // Usually issued within the same second as the revocation
+            String fresh = token(userId, EUserRole.USER);
+
+            String ownData = "/api/savings/user/" + userId;
+            mockMvc.perform(get(ownData).header(HttpHeaders.AUTHORIZATION, revoked)).andExpect(status().isUnauthorized());
+            mockMvc.perform(get(ownData).header(HttpHeaders.AUTHORIZATION, fresh)).andExpect(status().isOk());
+            // Kept in the users row, so other instances and restarts see it
+            assertThat(jdbcTemplate.queryForObject("SELECT token_epoch FROM users WHERE id = ?", Integer.class, userId))
+                    .isEqualTo(1);
+        } finally {
+            jdbcTemplate.update("DELETE FROM ledger_version WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    private UUID seedUser(EUserRole role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO users (id, active, created_at, first_name, last_name, email, gender, password, user_role)
+                VALUES (?, TRUE, now(), 'Authorization', 'User', ?, 'FEMALE', 'x', ?)
+                """, id, MARKER + "-" + id + "@budgy.test", role.name());
+        return id;
+    }
+
+    private UUID seedGoal(UUID userId) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO savings (id, active, created_at, name, target_amount, current_amount, target_date, priority, description, user_id)
+                VALUES (?, TRUE, now(), ?, 1000000000, 0, DATE '2030-01-01', 'LOW', ?, ?)
+                """, id, MARKER, MARKER, userId);
+        return id;
+    }
+
+    private String token(UUID userId, EUserRole role) {
+        Users user = new Users();
+        user.setId(userId);
+        user.setRole(role);
+        return "Bearer " + tokenService.issueToken(user).getToken();
+    }
+}
@@ -0,0 +1,55 @@
+package com.andremugabo.Budgy.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which server read-only and read-write transactions land on. Needs a second PostgreSQL instance
+ * on another port with the schema in place (start the app against it once), e.g.
+ * {@code -Dbudgy.replica-tests.url=jdbc:postgresql://localhost:5433/budgy_db}.
+ */
+@SpringBootTest(properties = "budgy.datasource.replicas.urls=${budgy.replica-tests.url}")
+@EnabledIfSystemProperty(named = "budgy.replica-tests.url", matches = ".+")
+class ReadReplicaRoutingTest {
+
+    private static final String SERVER_PORT = "SELECT current_setting('port')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        String primaryPort = serverPort(false);
+        String replicaPort = serverPort(true);
+
+        assertThat(replicaPort).isNotEqualTo(primaryPort);
+        assertThat(serverPort(true)).isEqualTo(replicaPort);
+    }
+
+    @Test
+    void pinnedThreadReadsFromThePrimary() {
+        String primaryPort = serverPort(false);
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            assertThat(serverPort(true)).isEqualTo(primaryPort);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private String serverPort(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject(SERVER_PORT, String.class));
+    }
+}
@@ -0,0 +1,62 @@
+package com.andremugabo.Budgy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * When a replica leaves the rotation, against the local PostgreSQL standing in for both primary and
+ * replica: a pool that cannot connect takes its replica out, a pool that is only exhausted does not.
+ */
+@SpringBootTest
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private DataSource primary;
+
+    @Autowired
+    private DataSourceProperties properties;
+
+    @Test
+    void exhaustedPoolKeepsItsReplica() throws Exception {
+        try (ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+                List.of(pool(properties.getUrl())), Duration.ofSeconds(10));
+             Connection held = routing.getConnection();
+             Connection overflow = routing.getConnection()) {
+            assertThat(held.isValid(1)).isTrue();
+            // Served by the primary while the replica's only connection is in use
+            assertThat(overflow.isValid(1)).isTrue();
+            assertThat(routing.healthyReplicas()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void unreachableReplicaIsTakenOut() throws Exception {
+        try (ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+                List.of(pool("jdbc:postgresql://127.0.0.1:1/budgy_db")), Duration.ofSeconds(10));
+             Connection connection = routing.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+            assertThat(routing.healthyReplicas()).isZero();
+        }
+    }
+
+    private HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(properties.getUsername());
+        pool.setPassword(properties.getPassword());
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
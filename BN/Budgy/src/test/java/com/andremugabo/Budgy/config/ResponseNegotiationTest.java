@@ -0,0 +1,130 @@
+package com.andremugabo.Budgy.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The income list in its representations: CBOR must carry exactly what JSON does, ?fields= must trim
+ * both, and each representation must revalidate against its own ETag.
+ */
+@SpringBootTest(properties = "budgy.auth.enabled=false")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ResponseNegotiationTest {
+
+    // Exact decimals on both sides, so 12.50 from JSON equals CBOR's decimal fraction
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory())
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+    private String incomes;
+
+    @BeforeAll
+    void seedUser() {
+        userId = UUID.randomUUID();
+        incomes = "/api/incomes/user/" + userId;
+        jdbcTemplate.update("""
+                INSERT INTO users (id, active, created_at, first_name, last_name, email, gender, password, user_role)
+                VALUES (?, TRUE, now(), 'Negotiation', 'User', ?, 'FEMALE', 'x', 'USER')
+                """, userId, "negotiation-test-" + userId + "@budgy.test");
+        for (String amount : List.of("12.50", "1000.00", "0.99")) {
+            jdbcTemplate.update("""
+                    INSERT INTO income (id, active, created_at, amount, source, income_type, description, user_id)
+                    VALUES (?, TRUE, now(), CAST(? AS numeric), 'negotiation-test', 'SALARY', 'Négociation ✓', ?)
+                    """, UUID.randomUUID(), amount, userId);
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM income WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM ledger_version WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void cborCarriesTheSameDataAsJson() throws Exception {
+        MvcResult json = mockMvc.perform(get(incomes)).andExpect(status().isOk()).andReturn();
+        MvcResult cbor = mockMvc.perform(get(incomes).accept(MediaType.APPLICATION_CBOR)).andExpect(status().isOk()).andReturn();
+
+        assertThat(json.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(cbor.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        JsonNode fromJson = JSON.readTree(json.getResponse().getContentAsByteArray());
+        assertThat(fromJson).hasSize(3);
+        assertThat(CBOR.readTree(cbor.getResponse().getContentAsByteArray())).isEqualTo(fromJson);
+        assertThat(cbor.getResponse().getContentAsByteArray().length)
+                .isLessThan(json.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void fieldsKeepOnlyTheNamedProperties() throws Exception {
+        byte[] json = mockMvc.perform(get(incomes).param("fields", "id, amount,nonexistent"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get(incomes).param("fields", "id,amount").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray();
+
+        for (JsonNode rows : List.of(JSON.readTree(json), CBOR.readTree(cbor))) {
+            assertThat(rows).hasSize(3);
+            for (JsonNode row : rows) {
+                List<String> names = new ArrayList<>();
+                row.fieldNames().forEachRemaining(names::add);
+                assertThat(names).containsExactlyInAnyOrder("id", "amount");
+            }
+        }
+        // Without the parameter nothing is trimmed
+        JsonNode full = JSON.readTree(mockMvc.perform(get(incomes)).andReturn().getResponse().getContentAsByteArray());
+        assertThat(full.get(0).has("createdAt")).isTrue();
+    }
+
+    @Test
+    void representationsRevalidateAgainstTheirOwnETag() throws Exception {
+        MvcResult json = mockMvc.perform(get(incomes)).andReturn();
+        MvcResult cbor = mockMvc.perform(get(incomes).accept(MediaType.APPLICATION_CBOR)).andReturn();
+        String jsonETag = json.getResponse().getHeader(HttpHeaders.ETAG);
+        String cborETag = cbor.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(jsonETag).startsWith("W/\"");
+        assertThat(cborETag).isNotEqualTo(jsonETag);
+        assertThat(json.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThat(cbor.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        mockMvc.perform(get(incomes).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(incomes).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(incomes).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,114 @@
+package com.andremugabo.Budgy.core.ledger;
+
+import com.andremugabo.Budgy.core.ledger.model.LedgerColumns;
+import com.andremugabo.Budgy.core.util.analytics.EAnalyticsBucket;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The cached columns must aggregate exactly like BigDecimal sums grouped by date_trunc: checked here
+ * against a reference computed with LocalDate over random rows spanning several years.
+ */
+class LedgerColumnsTest {
+
+    private static final String[] KEYS = {"b", "a", null, "c"};
+
+    private record Row(BigDecimal amount, LocalDate day, String key) {
+    }
+
+    @Test
+    void bucketNumbersMatchDateTrunc() {
+        for (LocalDate day = LocalDate.of(1899, 12, 1); day.isBefore(LocalDate.of(2101, 3, 1)); day = day.plusDays(1)) {
+            int epochDay = (int) day.toEpochDay();
+            assertThat(EAnalyticsBucket.MONTH.bucketStart(EAnalyticsBucket.MONTH.bucketOf(epochDay)))
+                    .isEqualTo(day.withDayOfMonth(1));
+            assertThat(EAnalyticsBucket.WEEK.bucketStart(EAnalyticsBucket.WEEK.bucketOf(epochDay)))
+                    .isEqualTo(day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+            assertThat(EAnalyticsBucket.DAY.bucketStart(EAnalyticsBucket.DAY.bucketOf(epochDay))).isEqualTo(day);
+        }
+    }
+
+    @Test
+    void aggregatesMatchBigDecimalReference() {
+        List<Row> rows = randomRows(5_000);
+        LedgerColumns.Builder builder = LedgerColumns.builder();
+        rows.forEach(row -> builder.add(row.amount(), row.day().toEpochDay(), row.key()));
+        LedgerColumns columns = builder.build();
+
+        assertThat(columns.groupKeys()).containsExactly("a", "b", "c", null);
+        assertThat(LedgerColumns.toAmount(columns.total()))
+                .isEqualByComparingTo(rows.stream().map(Row::amount).reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        LocalDate from = LocalDate.of(2024, 2, 10);
+        LocalDate to = LocalDate.of(2025, 7, 3);
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        List<Row> inRange = rows.stream().filter(row -> !row.day().isBefore(from) && !row.day().isAfter(to)).toList();
+        assertThat(LedgerColumns.toAmount(columns.sum(fromDay, toDay)))
+                .isEqualByComparingTo(inRange.stream().map(Row::amount).reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        long[] byGroup = new long[columns.groupCount()];
+        columns.sumByGroup(fromDay, toDay, byGroup);
+        String[] keys = columns.groupKeys();
+        for (int group = 0; group < keys.length; group++) {
+            String key = keys[group];
+            BigDecimal expected = inRange.stream().filter(row -> Objects.equals(row.key(), key))
+                    .map(Row::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertThat(LedgerColumns.toAmount(byGroup[group])).isEqualByComparingTo(expected);
+        }
+
+        for (EAnalyticsBucket unit : EAnalyticsBucket.values()) {
+            Map<LocalDate, BigDecimal> expected = new TreeMap<>();
+            inRange.forEach(row -> expected.merge(unit.bucketStart(unit.bucketOf((int) row.day().toEpochDay())),
+                    row.amount(), BigDecimal::add));
+            Map<LocalDate, BigDecimal> actual = new TreeMap<>();
+            List<Integer> order = new ArrayList<>();
+            columns.forEachBucket(fromDay, toDay, unit, (bucket, sums, counts) -> {
+                long total = 0;
+                for (long sum : sums) {
+                    total += sum;
+                }
+                order.add(bucket);
+                actual.put(unit.bucketStart(bucket), LedgerColumns.toAmount(total));
+            });
+            assertThat(order).isSorted().doesNotHaveDuplicates();
+            assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+            expected.forEach((start, total) -> assertThat(actual.get(start)).isEqualByComparingTo(total));
+        }
+    }
+
+    @Test
+    void rejectsAmountsThatDoNotFitInCents() {
+        assertThatThrownBy(() -> LedgerColumns.builder().add(new BigDecimal("0.001"), 0, null))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> LedgerColumns.builder()
+                .add(Long.MAX_VALUE, 0, null)
+                .add(1, 0, null))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    private static List<Row> randomRows(int count) {
+        Random random = new Random(7);
+        LocalDate day = LocalDate.of(2023, 1, 1);
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            day = day.plusDays(random.nextInt(3) == 0 ? 1 : 0);
+            rows.add(new Row(BigDecimal.valueOf(random.nextInt(1_000_000) - 100_000, 2), day,
+                    KEYS[random.nextInt(KEYS.length)]));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,79 @@
+package com.andremugabo.Budgy.core.partition;
+
+import com.andremugabo.Budgy.core.income.repository.IIncomeRepository;
+import com.andremugabo.Budgy.core.partition.service.IPartitionMaintenanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the local PostgreSQL like the rest of the suite and checks the plans of period
+ * queries on the partitioned income and expense tables: only the requested month is scanned.
+ */
+@SpringBootTest
+class PartitionPruningTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IPartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private IIncomeRepository incomeRepository;
+
+    @Test
+    void futureMonthsHavePartitions() {
+        partitionMaintenanceService.ensureFuturePartitions();
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int ahead = 0; ahead <= 3; ahead++) {
+            String suffix = month.plusMonths(ahead).format(SUFFIX);
+            assertThat(partitionExists("income_p" + suffix)).as("income_p" + suffix).isTrue();
+            assertThat(partitionExists("expense_p" + suffix)).as("expense_p" + suffix).isTrue();
+        }
+    }
+
+    @Test
+    void periodQueriesOnlyScanTheirMonth() {
+        partitionMaintenanceService.ensureFuturePartitions();
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        LocalDateTime start = month.atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atStartOfDay().minusNanos(1_000);
+        String scanned = "_p" + month.format(SUFFIX);
+        String previous = "_p" + month.minusMonths(1).format(SUFFIX);
+        String next = "_p" + month.plusMonths(1).format(SUFFIX);
+
+        // Same shape and bind parameters as IIncomeRepository.findByUsersIdAndCreatedAtBetween
+        String incomePlan = explain("SELECT i.id, i.amount FROM income i WHERE i.user_id = ? AND i.created_at BETWEEN ? AND ?",
+                start, end);
+        assertThat(incomePlan).contains("income" + scanned)
+                .doesNotContain("income" + previous).doesNotContain("income" + next).doesNotContain("income_default");
+
+        String expensePlan = explain("SELECT e.id, e.amount FROM expense e WHERE e.user_id = ? AND e.created_at >= ? AND e.created_at < ?",
+                start, month.plusMonths(1).atStartOfDay());
+        assertThat(expensePlan).contains("expense" + scanned)
+                .doesNotContain("expense" + previous).doesNotContain("expense" + next).doesNotContain("expense_default");
+
+        // The unchanged repository method still works against the partitioned table
+        assertThat(incomeRepository.findByUsersIdAndCreatedAtBetween(UUID.randomUUID(), start, end)).isEmpty();
+    }
+
+    private String explain(String sql, Object from, Object to) {
+        // Failed contains/doesNotContain checks print the whole plan
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, UUID.randomUUID(), from, to));
+    }
+
+    private boolean partitionExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+}
@@ -0,0 +1,150 @@
+package com.andremugabo.Budgy.core.savings;
+
+import com.andremugabo.Budgy.core.savings.model.Savings;
+import com.andremugabo.Budgy.core.savings.repository.ISavingRepository;
+import com.andremugabo.Budgy.core.savings.service.ISavingService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several threads contributing to the same goal at once, against the local PostgreSQL like the rest of
+ * the suite: contributions must all land, and must get through faster than the read-modify-write a
+ * client had to do with the whole-entity update.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SavingsContributionConcurrencyTest {
+
+    private static final String MARKER = "contribution-test";
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 50;
+    private static final BigDecimal ONE = new BigDecimal("1.00");
+
+    @Autowired
+    private ISavingService savingService;
+
+    @Autowired
+    private ISavingRepository savingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    @BeforeAll
+    void seedUser() {
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO users (id, active, created_at, first_name, last_name, email, gender, password, user_role)
+                VALUES (?, TRUE, now(), 'Contribution', 'User', ?, 'MALE', 'x', 'USER')
+                """, userId, MARKER + "-" + userId + "@budgy.test");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM savings_contribution WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM savings WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void concurrentContributionsAreNotLost() throws Exception {
+        UUID goal = newGoal();
+
+        runConcurrently(() -> savingService.addContribution(goal, ONE, null));
+
+        BigDecimal expected = ONE.multiply(BigDecimal.valueOf(THREADS * PER_THREAD));
+        Savings saved = savingRepository.findById(goal).orElseThrow();
+        assertThat(saved.getCurrentAmount()).isEqualByComparingTo(expected);
+        assertThat(saved.getVersion()).isEqualTo(THREADS * PER_THREAD);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM savings_contribution WHERE savings_id = ?",
+                Integer.class, goal)).isEqualTo(THREADS * PER_THREAD);
+    }
+
+    @Test
+    void contributionsOutpaceReadModifyWriteUnderContention() throws Exception {
+        UUID atomicGoal = newGoal();
+        UUID editedGoal = newGoal();
+        AtomicLong conflicts = new AtomicLong();
+
+        long atomicNanos = runConcurrently(() -> savingService.addContribution(atomicGoal, ONE, null));
+        // What a client had to do before: read the goal, add to it, send it back, and retry on a conflict
+        long editNanos = runConcurrently(() -> {
+            while (true) {
+                Savings goal = savingRepository.findById(editedGoal).orElseThrow();
+                goal.setCurrentAmount(goal.getCurrentAmount().add(ONE));
+                try {
+                    savingService.updateSavings(goal, null);
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+
+        int operations = THREADS * PER_THREAD;
+        double atomicRate = operations / (atomicNanos / 1e9);
+        double editRate = operations / (editNanos / 1e9);
+
+        // The version check keeps the edit path correct too; it just pays for it in retries
+        BigDecimal expected = ONE.multiply(BigDecimal.valueOf(operations));
+        assertThat(savingRepository.findById(editedGoal).orElseThrow().getCurrentAmount()).isEqualByComparingTo(expected);
+        assertThat(savingRepository.findById(atomicGoal).orElseThrow().getCurrentAmount()).isEqualByComparingTo(expected);
+        assertThat(atomicRate)
+                .as("contributions/s: atomic=%.0f read-modify-write=%.0f (%d conflicts retried)", atomicRate, editRate, conflicts.get())
+                .isGreaterThan(editRate);
+    }
+
+    private UUID newGoal() {
+        UUID id = UUID.randomUUID();
+        // Far from its target, so no progress alerts are raised for the test user
+        jdbcTemplate.update("""
+                INSERT INTO savings (id, active, created_at, name, target_amount, current_amount, target_date, priority, description, user_id)
+                VALUES (?, TRUE, now(), ?, 1000000000, 0, DATE '2030-01-01', 'LOW', ?, ?)
+                """, id, MARKER, MARKER, userId);
+        return id;
+    }
+
+    private long runConcurrently(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.andremugabo.Budgy.core.savings;
+
+import com.andremugabo.Budgy.core.savings.service.ISavingService;
+import com.andremugabo.Budgy.core.util.savings.ESavingsPriority;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grows the savings table in steps and checks that the per-user read path stays flat.
+ * Opt-in because it writes millions of rows: run with {@code -Dbudgy.scale-tests=true}
+ * (and optionally {@code -Dbudgy.scale-tests.rows=5000000}).
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "budgy.scale-tests", matches = "true")
+class SavingsScaleTest {
+
+    private static final String MARKER = "scale-test";
+    private static final int OTHER_USERS = 1_000;
+    private static final int USER_SAVINGS = 20;
+    private static final int SAMPLES = 50;
+
+    @Autowired
+    private ISavingService savingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    @BeforeAll
+    void seedUsers() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, active, created_at, first_name, last_name, email, gender, password, user_role)
+                SELECT gen_random_uuid(), TRUE, now(), 'Scale', 'User', 'scale-' || g || '@budgy.test', 'MALE', 'x', 'USER'
+                FROM generate_series(0, ?) g
+                """, OTHER_USERS);
+        userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'scale-0@budgy.test'", UUID.class);
+        jdbcTemplate.update("""
+                INSERT INTO savings (id, active, created_at, name, target_amount, current_amount, target_date, priority, description, user_id)
+                SELECT gen_random_uuid(), TRUE, now(), ?, 1000, 0, DATE '2026-01-01' + g, (ARRAY['LOW','MEDIUM','HIGH'])[1 + g % 3], ?, ?
+                FROM generate_series(1, ?) g
+                """, MARKER, MARKER, userId, USER_SAVINGS);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM savings WHERE description = ?", MARKER);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'scale-%@budgy.test'");
+    }
+
+    @Test
+    void perUserReadsStayFlatAsTableGrows() {
+        long targetRows = Long.getLong("budgy.scale-tests.rows", 2_000_000L);
+        // Median per-user read in nanoseconds, by table size
+        Map<Long, Long> medians = new LinkedHashMap<>();
+        long inserted = 0;
+
+        for (long step = 10_000; ; step *= 10) {
+            long size = Math.min(step, targetRows);
+            growTo(inserted, size);
+            inserted = size;
+            jdbcTemplate.execute("ANALYZE savings");
+
+            medians.put(size, medianNanos());
+
+            assertThat(savingService.getSavingsByUser(userId)).hasSize(USER_SAVINGS);
+            assertThat(savingService.getSavingsByUserAndPriority(userId, ESavingsPriority.HIGH)).isNotEmpty();
+            if (size == targetRows) {
+                break;
+            }
+        }
+
+        // Index lookups are O(log n); allow generous noise but nothing resembling the linear findAll() scan
+        long smallest = medians.get(Collections.min(medians.keySet()));
+        long largest = medians.get(Collections.max(medians.keySet()));
+        assertThat(largest).as("median per-user read (ns) by savings rows: %s", medians)
+                .isLessThan(Math.max(smallest * 5, smallest + 5_000_000L));
+    }
+
+    private void growTo(long from, long to) {
+        jdbcTemplate.update("""
+                WITH u AS (SELECT array_agg(id) AS ids FROM users WHERE email LIKE 'scale-%@budgy.test' AND email <> 'scale-0@budgy.test')
+                INSERT INTO savings (id, active, created_at, name, target_amount, current_amount, target_date, priority, description, user_id)
+                SELECT gen_random_uuid(), TRUE, now(), ?, 1000, 0, DATE '2026-01-01' + (g % 730), (ARRAY['LOW','MEDIUM','HIGH'])[1 + g % 3], ?, u.ids[1 + g % ?]
+                FROM generate_series(CAST(? AS integer), CAST(? AS integer)) g, u
+                """, MARKER, MARKER, OTHER_USERS, from + 1, to);
+    }
+
+    private long medianNanos() {
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        LocalDate end = start.plusDays(10);
+        for (int i = 0; i < 10; i++) {
+            savingService.getSavingsByUserWithinPeriod(userId, start, end);
+        }
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long begin = System.nanoTime();
+            savingService.getSavingsByUser(userId);
+            savingService.getSavingsByUserAndPriority(userId, ESavingsPriority.LOW);
+            savingService.getSavingsByUserWithinPeriod(userId, start, end);
+            samples[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
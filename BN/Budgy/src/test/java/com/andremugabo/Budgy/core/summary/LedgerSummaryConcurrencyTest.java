@@ -0,0 +1,110 @@
+package com.andremugabo.Budgy.core.summary;
+
+import com.andremugabo.Budgy.core.expenses.model.Expense;
+import com.andremugabo.Budgy.core.income.model.Income;
+import com.andremugabo.Budgy.core.summary.service.ILedgerSummaryService;
+import com.andremugabo.Budgy.core.user.model.Users;
+import com.andremugabo.Budgy.core.util.income.EIncomeType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The first entries of a month recorded from several threads at once, against the local PostgreSQL
+ * like the rest of the suite: each bucket must end up as one row holding every entry.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerSummaryConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final LocalDateTime FIRST_OF_MONTH = LocalDateTime.of(2031, 5, 1, 12, 0);
+
+    @Autowired
+    private ILedgerSummaryService ledgerSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Users user;
+
+    @BeforeAll
+    void seedUser() {
+        user = new Users();
+        user.setId(UUID.randomUUID());
+        jdbcTemplate.update("""
+                INSERT INTO users (id, active, created_at, first_name, last_name, email, gender, password, user_role)
+                VALUES (?, TRUE, now(), 'Summary', 'User', ?, 'FEMALE', 'x', 'USER')
+                """, user.getId(), "summary-test-" + user.getId() + "@budgy.test");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM monthly_income_summary WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM monthly_expense_summary WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+
+    @Test
+    void concurrentFirstWritesShareOneBucket() throws Exception {
+        runConcurrently(() -> {
+            Income income = new Income();
+            income.setUsers(user);
+            income.setAmount(BigDecimal.ONE);
+            income.setIncomeType(EIncomeType.SALARY);
+            income.setCreatedAt(FIRST_OF_MONTH);
+            ledgerSummaryService.recordIncome(income, 1);
+
+            Expense expense = new Expense();
+            expense.setUsers(user);
+            expense.setAmount(BigDecimal.ONE);
+            expense.setCreatedAt(FIRST_OF_MONTH);
+            ledgerSummaryService.recordExpense(expense, 1);
+        });
+
+        assertThat(jdbcTemplate.queryForList("SELECT total FROM monthly_income_summary WHERE user_id = ?",
+                BigDecimal.class, user.getId())).singleElement().satisfies(total ->
+                assertThat(total).isEqualByComparingTo(BigDecimal.valueOf(THREADS)));
+        // Uncategorised expenses too, though their bucket's category is NULL
+        assertThat(jdbcTemplate.queryForList("SELECT total FROM monthly_expense_summary WHERE user_id = ?",
+                BigDecimal.class, user.getId())).singleElement().satisfies(total ->
+                assertThat(total).isEqualByComparingTo(BigDecimal.valueOf(THREADS)));
+    }
+
+    private void runConcurrently(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    operation.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.andremugabo.Budgy.core.summary;
+
+import com.andremugabo.Budgy.core.summary.service.ILedgerSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rebuilding a user's summaries against the local PostgreSQL: attached months are recomputed from their
+ * rows, months whose partitions went to the archive schema keep the totals they had.
+ */
+@SpringBootTest
+class LedgerSummaryRebuildTest {
+
+    private static final LocalDate ARCHIVED_MONTH = LocalDate.of(2000, 1, 1);
+
+    @Autowired
+    private ILedgerSummaryService ledgerSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+    private LocalDate currentMonth;
+
+    @BeforeEach
+    void seedLedger() {
+        userId = UUID.randomUUID();
+        currentMonth = LocalDate.now().withDayOfMonth(1);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, active, created_at, first_name, last_name, email, gender, password, user_role)
+                VALUES (?, TRUE, now(), 'Rebuild', 'User', ?, 'MALE', 'x', 'USER')
+                """, userId, "rebuild-test-" + userId + "@budgy.test");
+        jdbcTemplate.update("""
+                INSERT INTO income (id, active, created_at, amount, source, income_type, description, user_id)
+                VALUES (?, TRUE, now(), 25, 'rebuild-test', 'SALARY', 'rebuild-test', ?)
+                """, UUID.randomUUID(), userId);
+        // A drifted bucket for the current month, and one for a month whose rows are no longer attached
+        seedBucket(currentMonth, 999);
+        seedBucket(ARCHIVED_MONTH, 50);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS archive.income_p200001");
+        jdbcTemplate.update("DELETE FROM income WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM monthly_income_summary WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM ledger_version WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void withoutArchivedMonthsEveryBucketIsRecomputed() {
+        ledgerSummaryService.rebuildForUser(userId);
+
+        assertThat(buckets()).containsOnlyKeys(currentMonth);
+        assertThat(buckets().get(currentMonth)).isEqualByComparingTo("25");
+    }
+
+    @Test
+    void archivedMonthsKeepTheirBuckets() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS archive");
+        jdbcTemplate.execute("CREATE TABLE archive.income_p200001 (LIKE income)");
+
+        ledgerSummaryService.rebuildForUser(userId);
+
+        assertThat(buckets()).containsOnlyKeys(ARCHIVED_MONTH, currentMonth);
+        assertThat(buckets().get(ARCHIVED_MONTH)).isEqualByComparingTo("50");
+        assertThat(buckets().get(currentMonth)).isEqualByComparingTo("25");
+    }
+
+    private void seedBucket(LocalDate month, int total) {
+        jdbcTemplate.update("""
+                INSERT INTO monthly_income_summary (id, active, created_at, user_id, month_start, income_type, total, entry_count)
+                VALUES (?, TRUE, now(), ?, ?, 'SALARY', ?, 1)
+                """, UUID.randomUUID(), userId, month, total);
+    }
+
+    private Map<LocalDate, BigDecimal> buckets() {
+        Map<LocalDate, BigDecimal> buckets = new TreeMap<>();
+        jdbcTemplate.query("SELECT month_start, total FROM monthly_income_summary WHERE user_id = ?",
+                rs -> { buckets.put(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2)); }, userId);
+        return buckets;
+    }
+}
@@ -10,6 +10,7 @@ class Saving {
     required this.priority,
     required this.description,
     required this.userId,
+    this.version,
   });
 
   final String id;
@@ -20,6 +21,8 @@ class Saving {
   final SavingsPriority priority;
   final String description;
   final String userId;
+  // Sent back on update; the backend rejects edits based on an outdated copy
+  final int? version;
 
   factory Saving.fromJson(Map<String, dynamic> json) {
     String _extractUserId(Map<String, dynamic> json) {
@@ -44,6 +47,7 @@ class Saving {
       priority: SavingsPriority.values.firstWhere((e) => e.name == (json['priority'] as String)),
       description: json['description'] as String,
       userId: _extractUserId(json),
+      version: (json['version'] as num?)?.toInt(),
     );
   }
 
@@ -56,6 +60,7 @@ class Saving {
         'priority': priority.name,
         'description': description,
         'userId': userId,
+        'version': version,
       };
 }
 
@@ -39,6 +39,7 @@ class AuthProvider extends ChangeNotifier {
   Future<void> _loadSession() async {
     final prefs = await SharedPreferences.getInstance();
     final raw = prefs.getString('session_user');
+    ApiService.setAccessToken(prefs.getString('session_token'));
     if (raw != null) {
       final map = jsonDecode(raw) as Map<String, dynamic>;
       _currentUser = User.fromJson(map);
@@ -80,9 +81,12 @@ class AuthProvider extends ChangeNotifier {
   }
 
   Future<void> logout() async {
+    await _auth.logout();
     _currentUser = null;
     final prefs = await SharedPreferences.getInstance();
     await prefs.remove('session_user');
+    await prefs.remove('session_token');
+    ApiService.setAccessToken(null);
     notifyListeners();
   }
 
@@ -99,6 +103,10 @@ class AuthProvider extends ChangeNotifier {
   Future<void> _saveSession(User user) async {
     final prefs = await SharedPreferences.getInstance();
     await prefs.setString('session_user', jsonEncode(user.toJson()));
+    final token = ApiService.accessToken;
+    if (token != null) {
+      await prefs.setString('session_token', token);
+    }
     _currentUser = user;
   }
 }
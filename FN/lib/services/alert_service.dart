@@ -15,21 +15,21 @@ class AlertService {
   }
 
   Future<AlertModel?> markRead(AlertModel alert) async {
-    final res = await _api.put('/api/alerts/${alert.id}', body: {
-      'id': alert.id,
-      'userId': alert.userId,
-      'title': alert.title,
-      'message': alert.message,
-      'alert': alert.alert.name,
-      'isRead': true,
+    await _api.post('/api/alerts/user/${alert.userId}/mark-read', body: {
+      'alertIds': [alert.id],
     });
-    final decoded = jsonDecode(res.body);
-    if (decoded is Map<String, dynamic>) {
-      return AlertModel.fromJson(decoded);
-    }
-    return null;
+    return AlertModel(
+      id: alert.id,
+      userId: alert.userId,
+      title: alert.title,
+      message: alert.message,
+      alert: alert.alert,
+      isRead: true,
+    );
   }
-}
-
-
 
+  Future<int> unreadCount(String userId) async {
+    final res = await _api.get('/api/alerts/user/$userId/unread/count');
+    return (jsonDecode(res.body) as num).toInt();
+  }
+}
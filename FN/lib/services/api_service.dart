@@ -14,6 +14,15 @@ class ApiService {
   final http.Client _client;
   final String _baseUrl;
 
+  // Bearer token from /api/users/login, shared by every ApiService instance
+  static String? _accessToken;
+
+  static String? get accessToken => _accessToken;
+
+  static void setAccessToken(String? token) {
+    _accessToken = token;
+  }
+
   Uri _uri(String path, [Map<String, dynamic>? queryParameters]) {
     return Uri.parse('$_baseUrl$path').replace(queryParameters: queryParameters);
   }
@@ -22,6 +31,7 @@ class ApiService {
     return <String, String>{
       'Content-Type': 'application/json',
       'Accept': 'application/json',
+      if (_accessToken != null) 'Authorization': 'Bearer $_accessToken',
     };
   }
 
@@ -49,9 +59,9 @@ class ApiService {
     return response;
   }
 
-  Future<http.Response> delete(String path) async {
+  Future<http.Response> delete(String path, {Map<String, dynamic>? query}) async {
     final headers = await defaultHeaders();
-    final uri = _uri(path);
+    final uri = _uri(path, query);
     final response = await _client.delete(uri, headers: headers);
     _throwIfError(response);
     return response;
@@ -15,16 +15,15 @@ class AuthService {
     required String password,
     required Gender gender,
   }) async {
-    final res = await _api.post('/api/users', body: {
+    await _api.post('/api/users', body: {
       'firstName': firstName,
       'lastName': lastName,
       'email': email,
       'password': password,
       'gender': gender.name,
-      'role': UserRole.USER.name,
     });
-    final map = jsonDecode(res.body) as Map<String, dynamic>;
-    return User.fromJson(map);
+    // Registration does not issue a token; log in to get one
+    return login(email: email, password: password);
   }
 
   Future<User> login({required String email, required String password}) async {
@@ -33,15 +32,18 @@ class AuthService {
       'password': password,
     });
     final decoded = jsonDecode(res.body);
-    if (decoded is Map<String, dynamic>) {
-      return User.fromJson(decoded);
-    }
-    if (decoded is Map && decoded['id'] != null) {
-      return User.fromJson(Map<String, dynamic>.from(decoded));
+    if (decoded is Map && decoded['token'] is String && decoded['user'] is Map) {
+      ApiService.setAccessToken(decoded['token'] as String);
+      return User.fromJson(Map<String, dynamic>.from(decoded['user'] as Map));
     }
     throw Exception('Invalid login response: ${res.body.substring(0, res.body.length > 200 ? 200 : res.body.length)}');
   }
-}
-
-
 
+  // Revokes the current token on the server; the local session is cleared either way
+  Future<void> logout() async {
+    if (ApiService.accessToken == null) return;
+    try {
+      await _api.post('/api/users/logout');
+    } catch (_) {}
+  }
+}
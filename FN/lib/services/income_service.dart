@@ -15,7 +15,9 @@ class IncomeService {
   }
 
   Future<List<Income>> getByUser(String userId) async {
-    final res = await _api.get('/api/incomes/user/$userId');
+    // Only what Income.fromJson reads
+    final res = await _api.get('/api/incomes/user/$userId',
+        query: {'fields': 'id,amount,source,incomeType,description'});
     final list = jsonDecode(res.body) as List<dynamic>;
     return list.map((e) => Income.fromJson(e as Map<String, dynamic>)).toList();
   }
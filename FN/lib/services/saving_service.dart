@@ -15,7 +15,9 @@ class SavingService {
   }
 
   Future<List<Saving>> getByUser(String userId) async {
-    final res = await _api.get('/api/savings/user/$userId');
+    // Only what Saving.fromJson reads
+    final res = await _api.get('/api/savings/user/$userId',
+        query: {'fields': 'id,name,targetAmount,currentAmount,targetDate,priority,description,version'});
     final list = jsonDecode(res.body) as List<dynamic>;
     return list.map((e) => Saving.fromJson(e as Map<String, dynamic>)).toList();
   }
@@ -50,6 +52,7 @@ class SavingService {
     required DateTime targetDate,
     required SavingsPriority priority,
     required String description,
+    int? version,
   }) async {
     final res = await _api.put('/api/savings/$id', body: {
       'id': id,
@@ -60,12 +63,14 @@ class SavingService {
       'priority': priority.name,
       'description': description,
       'users': {'id': userId},
+      'version': version,
     });
     return Saving.fromJson(jsonDecode(res.body) as Map<String, dynamic>);
   }
 
-  Future<void> deleteById(String id) async {
-    await _api.delete('/api/savings/$id');
+  // The server refuses the delete (409) if the goal changed since [version] was read
+  Future<void> deleteById(String id, {int? version}) async {
+    await _api.delete('/api/savings/$id', query: version == null ? null : {'version': '$version'});
   }
 }
 
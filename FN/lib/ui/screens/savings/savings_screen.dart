@@ -407,6 +407,7 @@ class _SavingsScreenState extends State<SavingsScreen> {
           targetDate: targetDate,
           priority: priority,
           description: description.text.trim(),
+          version: s.version,
         );
         await _load();
       } catch (e) {
@@ -452,7 +453,7 @@ class _SavingsScreenState extends State<SavingsScreen> {
     );
     if (res == true) {
       try {
-        await _service.deleteById(s.id);
+        await _service.deleteById(s.id, version: s.version);
         await _load();
       } catch (e) {
         final message = errorMessageFrom(